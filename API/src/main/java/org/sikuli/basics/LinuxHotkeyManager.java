@@ -11,9 +11,6 @@ import jxgrabkey.HotkeyConflictException;
 import jxgrabkey.JXGrabKey;
 
 public class LinuxHotkeyManager extends HotkeyManager {
-  static {
-    Commons.loadLib(Commons.LIB_JXGRABKEY);
-  }
 
   class HotkeyData {
     int key, modifiers;
@@ -43,6 +40,8 @@ public class LinuxHotkeyManager extends HotkeyManager {
   private int _gHotkeyId = 1;
 
   public boolean _addHotkey(int keyCode, int modifiers, HotkeyListener listener) {
+    // the native library is only loaded with the first hotkey
+    Commons.loadLib(Commons.LIB_JXGRABKEY);
     JXGrabKey grabKey = JXGrabKey.getInstance();
 
     if (_gHotkeyId == 1) {
@@ -89,6 +88,9 @@ public class LinuxHotkeyManager extends HotkeyManager {
   }
 
   public void cleanUp() {
+    if (_gHotkeyId == 1) {
+      return;
+    }
     JXGrabKey grabKey = JXGrabKey.getInstance();
     for (Map.Entry<Integer, HotkeyData> entry : _idCallbackMap.entrySet()) {
       int id = entry.getKey();
@@ -38,9 +38,31 @@ public class Settings {
   public static float WaitScanRate = 3f; // frames per second
   public static float ObserveScanRate = 3f; // frames per second
   public static int ObserveMinChangedPixels = 50; // in pixels
+  /**
+   * true = observeInBackground: all background observers are run by one scheduler,
+   * that takes one capture per screen and scan for all regions due (default: true)
+   * <br>false = each background observer runs in its own thread with its own captures
+   */
+  public static boolean ObserveSharedCapture = true;
+  public static int ObserveMaxParallel = 4; // per observer: events checked in parallel (1 = one after the other)
+  /**
+   * true = wait/exists: if the target was not found in the previous capture,
+   * it is only searched again where the screen has changed meanwhile
+   * (no search at all, if nothing changed) (default: false)
+   */
+  public static boolean WaitChangedOnly = false;
   public static int RepeatWaitTime = 1; // wait 1 second for visual to vanish after action
   public static double MinSimilarity = 0.7;
   public static float AlwaysResize = 0;
+  /**
+   * true = search images first in a downsized version of the base (image pyramid)
+   * and verify the candidate in the original size (default: false)
+   * <br>can be set per Pattern with Pattern.downsized()
+   */
+  public static boolean FindDownsized = false;
+  public static int FindThreads = 0; // threads for parallel find operations (0 = number of processors)
+  public static int FindTiledMinPixels = 4000000; // larger images are searched in parallel strips (0 = never)
+  public static int MatPoolSize = 64; // MB of native memory kept for reuse by find temporaries (0 = free at once)
   public static int DefaultPadding = 50;
   public static boolean AutoDetectKeyboardLayout = true;  
 
@@ -98,6 +120,14 @@ public class Settings {
   public static boolean OcrTextSearch = true;
   public static boolean OcrTextRead = true;
   public static boolean SwitchToText = false;
+  /**
+   * true = text search: the words are taken from the OCR pass, that reads the lines
+   * (no additional OCR pass for each line containing the text) (default: false)
+   */
+  public static boolean OcrTextSearchOnePass = false;
+  public static int OcrEnginePoolSize = 4; // max idle Tesseract engines kept per OCR.Options
+  public static float OcrEngineIdleTime = 60f; // in seconds, idle Tesseract engines are disposed after
+  public static int OcrCacheSize = 4; // MB for cached OCR results of identical pixels (0 = no cache)
 
   public static boolean TRUE = true;
   public static boolean FALSE = false;
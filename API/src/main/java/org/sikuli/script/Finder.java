@@ -11,9 +11,16 @@ import org.sikuli.support.Commons;
 import org.sikuli.support.devices.IScreen;
 
 import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.regex.Matcher;
 
 public class Finder implements Iterator<Match> {
@@ -51,11 +58,11 @@ public class Finder implements Iterator<Match> {
     if (inWhat instanceof Region) {
       where = (Region) inWhat;
     } else if (inWhat instanceof Image) {
-      _findInput.setSource(Commons.makeMat(((Image) inWhat).get()));
+      setOwnSource(Commons.makeMat(((Image) inWhat).get()));
     } else if (inWhat instanceof String) {
-      _findInput.setSource(Commons.makeMat(Image.create((String) inWhat).get()));
+      setOwnSource(Commons.makeMat(Image.create((String) inWhat).get()));
     } else if (inWhat instanceof BufferedImage) {
-      _findInput.setSource(Commons.makeMat(((BufferedImage) inWhat)));
+      setOwnSource(Commons.makeMat(((BufferedImage) inWhat)));
     } else if (inWhat instanceof ScreenImage) {
       initScreenFinder(((ScreenImage) inWhat), null);
     } else if (inWhat instanceof Mat) {
@@ -76,6 +83,20 @@ public class Finder implements Iterator<Match> {
     initScreenFinder(simg, region);
   }
 
+  /**
+   * Finder for the same image as the given Finder (the image is prepared only once)
+   * <br>e.g. to search in parallel, each search with its own Finder
+   *
+   * @param other a Finder (must not be destroyed or get a new image before this one)
+   */
+  public Finder(Finder other) {
+    _findInput.setSource(other._findInput);
+    _region = other._region;
+    where = other.where;
+    screenFinder = other.screenFinder;
+    resetFindChanges();
+  }
+
   private void initScreenFinder(ScreenImage simg, Region region) {
     setScreenImage(simg);
     _region = region;
@@ -83,7 +104,18 @@ public class Finder implements Iterator<Match> {
    }
 
   protected void setScreenImage(ScreenImage simg) {
-    _findInput.setSource(Commons.makeMat(simg.getImage()));
+    setOwnSource(Commons.makeMat(simg.getImage()));
+  }
+
+  // the base made by this Finder from an image: given back to the pool, when replaced or destroyed
+  // (for repeated finds in captures of the same size the Mat is reused)
+  private Mat ownSource = null;
+
+  private void setOwnSource(Mat mat) {
+    Mat previous = ownSource;
+    _findInput.setSource(mat);
+    ownSource = mat;
+    Commons.releaseMat(previous);
   }
 
   private void initMatFinder(Mat mat) {
@@ -104,7 +136,7 @@ public class Finder implements Iterator<Match> {
    * internal use: repeat with same Finder
    */
   protected void findRepeat() {
-    _results = Finder2.find(_findInput);
+    setResults(Finder2.find(_findInput));
     currentMatchIndex = 0;
   }
 
@@ -113,10 +145,49 @@ public class Finder implements Iterator<Match> {
    */
   protected void findAllRepeat() {
     Debug timing = Debug.startTimer("Finder.findAll");
-    _results = Finder2.find(_findInput);
+    setResults(Finder2.find(_findInput));
     currentMatchIndex = 0;
     timing.end();
   }
+
+  /**
+   * internal use: repeat with same Finder in the new image,
+   * but if nothing was found before, only search again where the new image differs from the previous one
+   * (no changes: no search at all)
+   *
+   * @param simg the new image
+   */
+  protected void findRepeatChanged(ScreenImage simg) {
+    Mat previous = _findInput.getBase();
+    Mat previousOwn = ownSource;
+    Mat next = Commons.makeMat(simg.getImage());
+    _findInput.setSource(next);
+    ownSource = next;
+    currentMatchIndex = 0;
+    try {
+      findRepeatChanged(previous, next);
+    } finally {
+      Commons.releaseMat(previousOwn);
+    }
+  }
+
+  private void findRepeatChanged(Mat previous, Mat next) {
+    if (_results != null || previous == null || _findInput.isText() || _findInput.isFindAll()
+        || previous.cols() != next.cols() || previous.rows() != next.rows()) {
+      setResults(Finder2.find(_findInput));
+      return;
+    }
+    List<Rect> areas = Finder2.getChangedAreas(previous, next, _findInput.getTarget());
+    if (areas == null) {
+      setResults(Finder2.find(_findInput));
+    } else if (areas.isEmpty()) {
+      log(lvl + 1, "findRepeatChanged: no changes");
+      setResults(null);
+    } else {
+      log(lvl + 1, "findRepeatChanged: %d changed areas", areas.size());
+      setResults(Finder2.findInAreas(_findInput, areas));
+    }
+  }
 //</editor-fold>
 
   //<editor-fold defaultstate="collapsed" desc="find">
@@ -152,16 +223,20 @@ public class Finder implements Iterator<Match> {
     if (factor == 0 && Settings.AlwaysResize > 0 && Settings.AlwaysResize != 1) {
       factor = Settings.AlwaysResize;
     }
-    Mat mat = Commons.makeMat(img.get(), false);
+    // the target Mat is kept with the image (FindTarget) or the FindInput: not from the pool
+    Mat mat;
     if (factor > 0 && factor != 1) {
       Debug.log(3, "Finder::possibleImageResizeOrCallback: resize");
+      mat = Commons.makeMatKept(img.get(), false);
       if (!mat.empty()) {
         Commons.resize(mat, factor);
       }
     } else if (Settings.ImageCallback != null) {
       Debug.log(3, "Finder::possibleImageResizeOrCallback: callback");
       BufferedImage newBimg = Settings.ImageCallback.callback(img);
-      mat = Commons.makeMat(newBimg, false);
+      mat = Commons.makeMatKept(newBimg, false);
+    } else {
+      mat = Commons.makeMatKept(img.get(), false);
     }
     if (mat.empty()) {
       log(-1, "%s: conversion error --- find will fail", img);
@@ -169,6 +244,36 @@ public class Finder implements Iterator<Match> {
     return mat;
   }
 
+  private void setTarget(Image img) {
+    setTarget(_findInput, img, 0, false);
+  }
+
+  private void setTarget(Image img, float oneTimeResize, boolean withMask) {
+    setTarget(_findInput, img, oneTimeResize, withMask);
+  }
+
+  private void setTarget(FindInput2 findInput, Image img, float oneTimeResize, boolean withMask) {
+    boolean shouldResize = oneTimeResize > 0 && oneTimeResize != 1;
+    if (oneTimeResize == 0 && Settings.AlwaysResize > 0 && Settings.AlwaysResize != 1) {
+      shouldResize = true;
+    }
+    if (withMask || shouldResize || Settings.ImageCallback != null) {
+      findInput.setTarget(possibleImageResizeOrCallback(img, oneTimeResize));
+      return;
+    }
+    FindTarget findTarget = img.getFindTarget();
+    if (findTarget == null) {
+      Mat mat = possibleImageResizeOrCallback(img, oneTimeResize);
+      if (mat.empty()) {
+        findInput.setTarget(mat);
+        return;
+      }
+      findTarget = new FindTarget(mat, Commons.getNewMat());
+      img.setFindTarget(findTarget);
+    }
+    findInput.setTarget(findTarget);
+  }
+
   /**
    * do a find op with the given pattern in the Finder's image
    * (hasNext() and next() will reveal possible match results)
@@ -187,10 +292,11 @@ public class Finder implements Iterator<Match> {
         _findInput.setMask(_pattern.getMask());
       }
       _image = aPtn.getImage();
-      _findInput.setTarget(possibleImageResizeOrCallback(_image, aPtn.getResize()));
+      setTarget(_image, aPtn.getResize(), _pattern.hasMask());
       _findInput.setSimilarity(aPtn.getSimilar());
       _findInput.setIsPattern();
-      _results = Finder2.find(_findInput);
+      _findInput.setFindDownsized(aPtn.isDownsized());
+      setResults(Finder2.find(_findInput));
       currentMatchIndex = 0;
       return aPtn.getFilename();
     } else {
@@ -212,9 +318,10 @@ public class Finder implements Iterator<Match> {
     }
     if (img.isValid()) {
       _image = img;
-      _findInput.setTarget(possibleImageResizeOrCallback(img));
+      setTarget(img);
       _findInput.setSimilarity(Settings.MinSimilarity);
-      _results = Finder2.find(_findInput);
+      _findInput.setFindDownsized(Settings.FindDownsized);
+      setResults(Finder2.find(_findInput));
       currentMatchIndex = 0;
       return img.getFilename();
     } else if (img.isUseable()) {
@@ -252,6 +359,35 @@ public class Finder implements Iterator<Match> {
     }
     return Finder2.findChanges(_findInput);
   }
+
+  /**
+   * INTERNAL: the block hashes of the image, to be used with findChanges(previous, ..., next, ...)
+   *
+   * @param simg the image
+   * @return the hashes
+   */
+  public static long[] hashChangeBlocks(ScreenImage simg) {
+    return Finder2.hashBlocks(simg.getImage());
+  }
+
+  /**
+   * INTERNAL: the changes between two images (as findChanges(next) with a Finder on previous)
+   * <br>only the parts of the images, where the block hashes differ, are compared
+   *
+   * @param previous       the previous image
+   * @param previousHashes its hashes (hashChangeBlocks)
+   * @param next           the new image
+   * @param nextHashes     its hashes (hashChangeBlocks)
+   * @return the changed rectangles (empty if no changes)
+   */
+  public static List<Region> findChanges(ScreenImage previous, long[] previousHashes,
+                                         ScreenImage next, long[] nextHashes) {
+    if ((Settings.AlwaysResize > 0 && Settings.AlwaysResize != 1) || Settings.ImageCallback != null) {
+      return new Finder(previous).findChanges(next);
+    }
+    return Finder2.contoursToRectangle(Finder2.findChangedContours(previous.getImage(), previousHashes,
+        next.getImage(), nextHashes));
+  }
   //</editor-fold>
 
   //<editor-fold defaultstate="collapsed" desc="findAll">
@@ -294,15 +430,15 @@ public class Finder implements Iterator<Match> {
     if (aPtn.isValid()) {
       _pattern = aPtn;
       _image = aPtn.getImage();
-      _findInput.setTarget(possibleImageResizeOrCallback(_image, aPtn.getResize()));
-      _findInput.setSimilarity(aPtn.getSimilar());
-      _findInput.setIsPattern();
-      _findInput.setFindAll();
       if (_pattern.hasMask()) {
         _findInput.setMask(_pattern.getMask());
       }
+      setTarget(_image, aPtn.getResize(), _pattern.hasMask());
+      _findInput.setSimilarity(aPtn.getSimilar());
+      _findInput.setIsPattern();
+      _findInput.setFindAll();
       Debug timing = Debug.startTimer("Finder.findAll");
-      _results = Finder2.find(_findInput);
+      setResults(Finder2.find(_findInput));
       currentMatchIndex = 0;
       timing.end();
       return aPtn.getFilename();
@@ -325,11 +461,11 @@ public class Finder implements Iterator<Match> {
     }
     if (img.isValid()) {
       _image = img;
-      _findInput.setTarget(possibleImageResizeOrCallback(img));
+      setTarget(img);
       _findInput.setSimilarity(Settings.MinSimilarity);
       _findInput.setFindAll();
       Debug timing = Debug.startTimer("Finder.findAll");
-      _results = Finder2.find(_findInput);
+      setResults(Finder2.find(_findInput));
       currentMatchIndex = 0;
       timing.end();
       return img.getFilename();
@@ -339,6 +475,104 @@ public class Finder implements Iterator<Match> {
   }
   //</editor-fold>
 
+  /**
+   * INTERNAL: the target is known to cover the Finder's image (e.g. the pixels at its last seen position
+   * did not change), so hasNext() and next() reveal this match without any search
+   *
+   * @param pattern the pattern (null if searched with the image)
+   * @param image   the image
+   * @param score   the score
+   */
+  protected void setFound(Pattern pattern, Image image, double score) {
+    _pattern = pattern;
+    _image = image;
+    List<Match> matches = new ArrayList<>();
+    Mat base = _findInput.getBase();
+    matches.add(new Match(0, 0, base.cols(), base.rows(), score, null));
+    setResults(new FindResult2(matches, _findInput));
+    foundLastSeen = true;
+    currentMatchIndex = 0;
+  }
+
+  private boolean foundLastSeen = false;
+
+  /**
+   * internal use: the match is the image's last seen (setFound())
+   *
+   * @return true if so
+   */
+  protected boolean isFoundLastSeen() {
+    return foundLastSeen;
+  }
+
+  //<editor-fold defaultstate="collapsed" desc="findBatch">
+
+  /**
+   * do a findAll op with each of the given patterns in the Finder's image
+   * <br>the image is prepared only once for all patterns (e.g. the gray version)
+   * and the patterns are searched in parallel (see Settings.FindThreads)
+   *
+   * @param patterns list of Pattern
+   * @return for each pattern (in the given order) the list of matches (empty if not found or not valid)
+   */
+  public Map<Pattern, List<Match>> findBatch(List<Pattern> patterns) {
+    Map<Pattern, List<Match>> matchesMap = new LinkedHashMap<>();
+    if (patterns == null) {
+      return matchesMap;
+    }
+    if (!valid || _findInput.getBase() == null) {
+      log(-1, "findBatch: not valid");
+      for (Pattern ptn : patterns) {
+        matchesMap.put(ptn, new ArrayList<>());
+      }
+      return matchesMap;
+    }
+    Debug timing = Debug.startTimer("Finder.findBatch");
+    Map<Pattern, ForkJoinTask<List<Match>>> tasks = new LinkedHashMap<>();
+    for (Pattern ptn : patterns) {
+      if (ptn == null || !ptn.isValid()) {
+        log(-1, "findBatch: not valid: %s", ptn);
+        tasks.put(ptn, null);
+        continue;
+      }
+      FindInput2 findInput = new FindInput2();
+      findInput.setSource(_findInput);
+      if (ptn.hasMask()) {
+        findInput.setMask(ptn.getMask());
+      }
+      setTarget(findInput, ptn.getImage(), ptn.getResize(), ptn.hasMask());
+      findInput.setSimilarity(ptn.getSimilar());
+      findInput.setIsPattern();
+      findInput.setFindAll();
+      tasks.put(ptn, getFindPool().submit(() -> findBatchOne(findInput, ptn)));
+    }
+    for (Pattern ptn : tasks.keySet()) {
+      ForkJoinTask<List<Match>> task = tasks.get(ptn);
+      matchesMap.put(ptn, task == null ? new ArrayList<>() : task.join());
+    }
+    timing.end();
+    return matchesMap;
+  }
+
+  private List<Match> findBatchOne(FindInput2 findInput, Pattern ptn) {
+    List<Match> matches = new ArrayList<>();
+    FindResult2 results;
+    try {
+      results = Finder2.find(findInput);
+    } catch (Exception ex) {
+      log(-1, "findBatch: %s: %s", ptn, ex.getMessage());
+      return matches;
+    }
+    if (results != null) {
+      while (results.hasNext()) {
+        matches.add(finishMatch(results.next(), ptn, ptn.getImage(), false));
+      }
+      results.release();
+    }
+    return matches;
+  }
+  //</editor-fold>
+
   //<editor-fold desc="findText">
 
   /**
@@ -355,7 +589,7 @@ public class Finder implements Iterator<Match> {
     }
     _findInput.setTargetText(text);
     _findInput.setWhere(where);
-    _results = Finder2.find(_findInput);
+    setResults(Finder2.find(_findInput));
     currentMatchIndex = 0;
     return text;
   }
@@ -453,23 +687,27 @@ public class Finder implements Iterator<Match> {
   public Match next() {
     Match match = null;
     if (hasNext()) {
-      match = _results.next();
-      if (!_findInput.isText() && _region != null) {
-        match.x += _region.x;
-        match.y += _region.y;
-      }
-      IScreen parentScreen = null;
-      if (screenFinder && _region != null) {
-        parentScreen = _region.getScreen();
-        match = Match.create(match, parentScreen);
-      }
-      if (_pattern != null) {
-        Location offset = _pattern.getTargetOffset();
-        match.setTargetOffset(offset);
-      }
-      match.setOnScreen(screenFinder);
-      match.setImage(_image);
+      match = finishMatch(_results.next(), _pattern, _image, _findInput.isText());
+    }
+    return match;
+  }
+
+  private Match finishMatch(Match match, Pattern pattern, Image image, boolean isText) {
+    if (!isText && _region != null) {
+      match.x += _region.x;
+      match.y += _region.y;
+    }
+    IScreen parentScreen = null;
+    if (screenFinder && _region != null) {
+      parentScreen = _region.getScreen();
+      match = Match.create(match, parentScreen);
+    }
+    if (pattern != null) {
+      Location offset = pattern.getTargetOffset();
+      match.setTargetOffset(offset);
     }
+    match.setOnScreen(screenFinder);
+    match.setImage(image);
     return match;
   }
 
@@ -504,12 +742,49 @@ public class Finder implements Iterator<Match> {
   }
 
   public void destroy() {
+    setResults(null);
+    if (_findInput != null) {
+      _findInput.release();
+    }
     _findInput = null;
-    _results = null;
+    Commons.releaseMat(ownSource);
+    ownSource = null;
     _pattern = null;
   }
+
+  // the native memory of the previous results is given back at once
+  private void setResults(FindResult2 results) {
+    foundLastSeen = false;
+    if (_results != null && _results != results) {
+      _results.release();
+    }
+    _results = results;
+  }
 //</editor-fold>
 
+  //<editor-fold desc="parallel">
+  private static ForkJoinPool findPool = null;
+
+  /**
+   * INTERNAL: the shared bounded thread pool for parallel find operations
+   * <br>size: Settings.FindThreads (0 = number of processors)
+   *
+   * @return the pool
+   */
+  public static synchronized ForkJoinPool getFindPool() {
+    if (findPool == null) {
+      int threads = Settings.FindThreads > 0 ? Settings.FindThreads : Runtime.getRuntime().availableProcessors();
+      findPool = new ForkJoinPool(threads, pool -> {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("SikuliX-Find-" + worker.getPoolIndex());
+        return worker;
+      }, null, false);
+      log(lvl, "find pool: %d threads", threads);
+    }
+    return findPool;
+  }
+  //</editor-fold>
+
   static final int PIXEL_DIFF_THRESHOLD_DEFAULT = 3;
   static final int IMAGE_DIFF_THRESHOLD_DEFAULT = 5;
   static int PIXEL_DIFF_THRESHOLD = PIXEL_DIFF_THRESHOLD_DEFAULT;
@@ -557,7 +832,6 @@ public class Finder implements Iterator<Match> {
     private static Log log = new Log("Finder2");
 
     private Mat mBase = Commons.getNewMat();
-    private Mat mResult = Commons.getNewMat();
 
     private enum FindType {
       ONE, ALL
@@ -581,10 +855,18 @@ public class Finder implements Iterator<Match> {
       return results;
     }
 
+    protected static FindResult2 findInAreas(FindInput2 findInput, List<Rect> areas) {
+      findInput.setAttributes();
+      Finder2 finder2 = new Finder2();
+      finder2.fInput = findInput;
+      return finder2.doFindImageInAreas(areas);
+    }
+
     private final float resizeMinFactor = 1.5f;
     private final float[] resizeLevels = new float[]{1f, 0.4f};
     private boolean isCheckLastSeen = false;
     private static final double downSimDiff = 0.15;
+    private static final int downSizeMaxCandidates = 16;
 
     private boolean isWord() {
       return fInput.getTextLevel() == OCR.PAGE_ITERATOR_LEVEL_WORD;
@@ -635,66 +917,87 @@ public class Finder implements Iterator<Match> {
       boolean downSizeFound = false;
       double downSizeScore = -1;
       double downSizeWantedScore = 0;
-      Mat findWhere = Commons.getNewMat();
-      Mat findWhat = Commons.getNewMat();
+      Mat mResult = null;
+      List<Peak> downSizePeaks = null;
 
-      boolean trueOrFalse = findInput.shouldSearchDownsized(resizeMinFactor);
-      //TODO search downsized?
-      trueOrFalse = false;
-      if (trueOrFalse) {
+      if (findInput.shouldSearchDownsized(resizeMinFactor)) {
         // ************************************************* search in downsized
         begin_lap = new Date().getTime();
         double imgFactor = findInput.getResizeFactor();
         Size sizeBase, sizePattern;
-        mResult = null;
         for (double factor : resizeLevels) {
           rfactor = factor * imgFactor;
-          sizeBase = new Size(this.mBase.cols() / rfactor, this.mBase.rows() / rfactor);
-          sizePattern = new Size(findInput.getTarget().cols() / rfactor, findInput.getTarget().rows() / rfactor);
-          Imgproc.resize(this.mBase, findWhere, sizeBase, 0, 0, Imgproc.INTER_AREA);
+          if (rfactor < resizeMinFactor) {
+            continue;
+          }
+          sizeBase = new Size((int) (mBase.cols() / rfactor), (int) (mBase.rows() / rfactor));
+          sizePattern = new Size((int) (findInput.getTarget().cols() / rfactor),
+              (int) (findInput.getTarget().rows() / rfactor));
+          Mat findWhere = Commons.takeMat((int) sizeBase.height, (int) sizeBase.width, mBase.type());
+          Mat findWhat = Commons.takeMat((int) sizePattern.height, (int) sizePattern.width,
+              findInput.getTarget().type());
+          Imgproc.resize(mBase, findWhere, sizeBase, 0, 0, Imgproc.INTER_AREA);
           Imgproc.resize(findInput.getTarget(), findWhat, sizePattern, 0, 0, Imgproc.INTER_AREA);
+          Commons.releaseMat(mResult);
           mResult = doFindMatch(findWhat, findWhere, findInput);
+          Commons.releaseMat(findWhere);
+          Commons.releaseMat(findWhat);
           mMinMax = Core.minMaxLoc(mResult);
           downSizeWantedScore = ((int) ((findInput.getScore() - downSimDiff) * 100)) / 100.0;
           downSizeScore = mMinMax.maxVal;
           if (downSizeScore > downSizeWantedScore) {
             downSizeFound = true;
+            // near duplicates might score in another order in the original: all candidates are verified
+            downSizePeaks = findPeaks(mResult, downSizeWantedScore,
+                Math.max(1, (int) sizePattern.width / 2), Math.max(1, (int) sizePattern.height / 2), downSizeMaxCandidates);
             break;
           }
         }
         log.trace("downSizeFound: %s", downSizeFound);
-        log.trace("doFindImage: down: %%%.2f %d msec", 100 * mMinMax.maxVal, new Date().getTime() - begin_lap);
+        if (SX.isNotNull(mMinMax)) {
+          log.trace("doFindImage: down: %%%.2f %d msec", 100 * mMinMax.maxVal, new Date().getTime() - begin_lap);
+        }
+        Commons.releaseMat(mResult);
+        mResult = null;
       }
-      findWhere = this.mBase;
-      trueOrFalse = !findInput.isFindAll() && downSizeFound;
-      if (trueOrFalse) {
+      Mat findWhere = mBase;
+      if (downSizeFound) {
         // ************************************* check after downsized success
-        if (findWhere.size().equals(findInput.getTarget().size())) {
-          // trust downsized mResult, if images have same size
-          return new FindResult2(mResult, findInput);
-        } else {
-          int maxLocX = (int) (mMinMax.maxLoc.x * rfactor);
-          int maxLocY = (int) (mMinMax.maxLoc.y * rfactor);
-          begin_lap = new Date().getTime();
-          int margin = ((int) findInput.getResizeFactor()) + 1;
+        // the candidates are verified in the original, so the score is the same as with a full search
+        begin_lap = new Date().getTime();
+        int margin = ((int) rfactor) + 1;
+        Rectangle rWhere = new Rectangle(0, 0, findWhere.cols(), findWhere.rows());
+        Rect bestSub = null;
+        double maxVal = -1;
+        for (Peak peak : downSizePeaks) {
+          int maxLocX = (int) (peak.x * rfactor);
+          int maxLocY = (int) (peak.y * rfactor);
           Rectangle rSub = new Rectangle(Math.max(0, maxLocX - margin), Math.max(0, maxLocY - margin),
-              Math.min(findInput.getTarget().width() + 2 * margin, findWhere.width()),
-              Math.min(findInput.getTarget().height() + 2 * margin, findWhere.height()));
-          Rectangle rWhere = new Rectangle(0, 0, findWhere.cols(), findWhere.rows());
+              findInput.getTarget().width() + 2 * margin, findInput.getTarget().height() + 2 * margin);
           Rectangle rSubNew = rWhere.intersection(rSub);
           Rect rectSub = new Rect(rSubNew.x, rSubNew.y, rSubNew.width, rSubNew.height);
-          mResult = doFindMatch(findInput.getTarget(), findWhere.submat(rectSub), findInput);
-          mMinMax = Core.minMaxLoc(mResult);
-          double maxVal = mMinMax.maxVal;
-          double wantedScore = findInput.getScore();
-          if (maxVal > wantedScore) {
-            findResult = new FindResult2(mResult, findInput, new int[]{rectSub.x, rectSub.y});
-          }
-          if (SX.isNotNull(findResult)) {
-            log.trace("doFindImage after down: %%%.2f(?%%%.2f) %d msec",
-                maxVal * 100, wantedScore * 100, new Date().getTime() - begin_lap);
+          Mat result = doFindMatch(findInput.getTarget(), findWhere.submat(rectSub), findInput);
+          double score = Core.minMaxLoc(result).maxVal;
+          if (score > maxVal) {
+            Commons.releaseMat(mResult);
+            mResult = result;
+            bestSub = rectSub;
+            maxVal = score;
+          } else {
+            Commons.releaseMat(result);
           }
         }
+        double wantedScore = findInput.getScore();
+        if (maxVal > wantedScore) {
+          findResult = new FindResult2(mResult, findInput, new int[]{bestSub.x, bestSub.y});
+          log.trace("doFindImage after down: %%%.2f(?%%%.2f) %d candidates %d msec",
+              maxVal * 100, wantedScore * 100, downSizePeaks.size(), new Date().getTime() - begin_lap);
+        } else {
+          // no candidate confirmed: might be some other place - do the full search
+          log.trace("doFindImage after down: not confirmed: %%%.2f(?%%%.2f)", maxVal * 100, wantedScore * 100);
+          Commons.releaseMat(mResult);
+          downSizeScore = -1;
+        }
       }
       // ************************************** search in original
       if (downSizeScore < 0) {
@@ -708,46 +1011,197 @@ public class Finder implements Iterator<Match> {
         }
         if (mMinMax.maxVal > findInput.getScore()) {
           findResult = new FindResult2(mResult, findInput);
+        } else {
+          Commons.releaseMat(mResult);
         }
       }
       log.trace("doFindImage: end %d msec", new Date().getTime() - begin_find);
       return findResult;
     }
 
+    private FindResult2 doFindImageInAreas(List<Rect> areas) {
+      FindInput2 findInput = fInput;
+      Mat what = findInput.getTarget();
+      Mat base = findInput.isGray() ? findInput.getBaseGray() : findInput.getBase();
+      Mat bestResult = null;
+      Rect bestArea = null;
+      double bestScore = -1;
+      long begin_find = new Date().getTime();
+      for (Rect area : areas) {
+        if (area.width < what.cols() || area.height < what.rows()) {
+          continue;
+        }
+        Mat result = doFindMatch(what, base.submat(area), findInput);
+        double score = Core.minMaxLoc(result).maxVal;
+        if (score > bestScore) {
+          Commons.releaseMat(bestResult);
+          bestScore = score;
+          bestResult = result;
+          bestArea = area;
+        } else {
+          Commons.releaseMat(result);
+        }
+      }
+      log.trace("doFindImageInAreas: %d areas: %%%.2f %d msec", areas.size(), bestScore * 100,
+          new Date().getTime() - begin_find);
+      if (bestScore > findInput.getScore()) {
+        return new FindResult2(bestResult, findInput, new int[]{bestArea.x, bestArea.y});
+      }
+      Commons.releaseMat(bestResult);
+      return null;
+    }
+
+    static class Peak {
+      final int x;
+      final int y;
+      final double score;
+
+      Peak(int x, int y, double score) {
+        this.x = x;
+        this.y = y;
+        this.score = score;
+      }
+    }
+
+    /**
+     * the local maxima of a match result above minScore, best first<br>
+     * a local maximum is not lower than any other score within radiusX/radiusY around it
+     *
+     * @param result   the match result (CV_32FC1)
+     * @param minScore only scores above
+     * @param radiusX  horizontal neighbourhood
+     * @param radiusY  vertical neighbourhood
+     * @param maxCount at most that many (the best, 0 = all)
+     * @return the peaks (might be empty)
+     */
+    static List<Peak> findPeaks(Mat result, double minScore, int radiusX, int radiusY, int maxCount) {
+      List<Peak> peaks = new ArrayList<>();
+      Mat dilated = Commons.takeMat(result.rows(), result.cols(), result.type());
+      Mat kernel = Imgproc.getStructuringElement(Imgproc.MORPH_RECT, new Size(2 * radiusX + 1, 2 * radiusY + 1));
+      Imgproc.dilate(result, dilated, kernel);
+      Mat isPeak = new Mat();
+      Mat isAbove = new Mat();
+      Core.compare(result, dilated, isPeak, Core.CMP_GE);
+      Core.compare(result, new Scalar(minScore), isAbove, Core.CMP_GT);
+      Core.bitwise_and(isPeak, isAbove, isPeak);
+      MatOfPoint locations = new MatOfPoint();
+      if (Core.countNonZero(isPeak) > 0) {
+        Core.findNonZero(isPeak, locations);
+        float[] score = new float[1];
+        for (Point location : locations.toArray()) {
+          result.get((int) location.y, (int) location.x, score);
+          peaks.add(new Peak((int) location.x, (int) location.y, score[0]));
+        }
+      }
+      Commons.releaseMat(dilated);
+      kernel.release();
+      isPeak.release();
+      isAbove.release();
+      locations.release();
+      peaks.sort((p1, p2) -> Double.compare(p2.score, p1.score));
+      if (maxCount > 0 && peaks.size() > maxCount) {
+        return new ArrayList<>(peaks.subList(0, maxCount));
+      }
+      return peaks;
+    }
+
+    // the result is a Mat from the pool
     private Mat doFindMatch(Mat what, Mat where, FindInput2 findInput) {
-      Mat mResult = Commons.getNewMat();
+      Mat mResult = Commons.takeMat(where.rows() - what.rows() + 1, where.cols() - what.cols() + 1, CvType.CV_32FC1);
       if (what.empty()) {
         log.error("doFindMatch: image conversion to cvMat did not work");
       } else {
         Mat mWhere = where;
+        boolean madeGray = false;
         if (findInput.isGray()) {
-          Imgproc.cvtColor(where, mWhere, Imgproc.COLOR_BGR2GRAY);
+          // not in place: the base is used again with other targets
+          if (where == findInput.getBase()) {
+            mWhere = findInput.getBaseGray();
+          } else {
+            mWhere = makeGray(where);
+            madeGray = mWhere != where;
+          }
         }
         if (!findInput.isPlainColor()) {
           if (findInput.hasMask()) {
             Mat mask = findInput.getMask();
-            Imgproc.matchTemplate(mWhere, what, mResult, Imgproc.TM_CCORR_NORMED, mask);
+            matchTemplate(mWhere, what, mResult, Imgproc.TM_CCORR_NORMED, mask);
           } else {
-            Imgproc.matchTemplate(mWhere, what, mResult, Imgproc.TM_CCOEFF_NORMED);
+            matchTemplate(mWhere, what, mResult, Imgproc.TM_CCOEFF_NORMED, null);
           }
         } else {
           Mat wherePlain = mWhere;
           Mat whatPlain = what;
           if (findInput.isBlack()) {
+            // not in place: the target might be cached with the image
+            wherePlain = Commons.takeMat(mWhere.rows(), mWhere.cols(), mWhere.type());
+            whatPlain = Commons.takeMat(what.rows(), what.cols(), what.type());
             Core.bitwise_not(mWhere, wherePlain);
             Core.bitwise_not(what, whatPlain);
           }
           if (findInput.hasMask()) {
-            Imgproc.matchTemplate(wherePlain, what, mResult, Imgproc.TM_SQDIFF_NORMED, findInput.getMask());
+            matchTemplate(wherePlain, whatPlain, mResult, Imgproc.TM_SQDIFF_NORMED, findInput.getMask());
           } else {
-            Imgproc.matchTemplate(wherePlain, whatPlain, mResult, Imgproc.TM_SQDIFF_NORMED);
+            matchTemplate(wherePlain, whatPlain, mResult, Imgproc.TM_SQDIFF_NORMED, null);
           }
-          Core.subtract(Mat.ones(mResult.size(), CvType.CV_32F), mResult, mResult);
+          if (wherePlain != mWhere) {
+            Commons.releaseMat(wherePlain);
+            Commons.releaseMat(whatPlain);
+          }
+          // 1 - result (in place)
+          mResult.convertTo(mResult, -1, -1.0, 1.0);
+        }
+        if (madeGray) {
+          Commons.releaseMat(mWhere);
         }
       }
       return mResult;
     }
 
+    /**
+     * matchTemplate - for large images (Settings.FindTiledMinPixels) in overlapping horizontal strips
+     * on the find pool, whose results are stitched together to the one result of the whole image
+     */
+    private static void matchTemplate(Mat where, Mat what, Mat result, int method, Mat mask) {
+      int resultRows = where.rows() - what.rows() + 1;
+      int resultCols = where.cols() - what.cols() + 1;
+      int tiles = 0;
+      if (Settings.FindTiledMinPixels > 0 && where.total() >= Settings.FindTiledMinPixels && resultCols > 0) {
+        tiles = Math.min(getFindPool().getParallelism(), resultRows / Math.max(what.rows(), 16));
+      }
+      if (tiles < 2) {
+        matchTemplateTile(where, what, result, method, mask);
+        return;
+      }
+      long begin_find = new Date().getTime();
+      result.create(resultRows, resultCols, CvType.CV_32FC1);
+      int rowsPerTile = (resultRows + tiles - 1) / tiles;
+      List<ForkJoinTask<?>> tasks = new ArrayList<>();
+      for (int firstRow = 0; firstRow < resultRows; firstRow += rowsPerTile) {
+        int lastRow = Math.min(resultRows, firstRow + rowsPerTile);
+        Mat whereTile = where.rowRange(firstRow, lastRow + what.rows() - 1);
+        Mat resultTile = result.rowRange(firstRow, lastRow);
+        tasks.add(getFindPool().submit(() -> {
+          Mat tileResult = Commons.takeMat(resultTile.rows(), resultTile.cols(), CvType.CV_32FC1);
+          matchTemplateTile(whereTile, what, tileResult, method, mask);
+          tileResult.copyTo(resultTile);
+          Commons.releaseMat(tileResult);
+        }));
+      }
+      for (ForkJoinTask<?> task : tasks) {
+        task.join();
+      }
+      log.trace("matchTemplate: %d tiles: %d msec", tasks.size(), new Date().getTime() - begin_find);
+    }
+
+    private static void matchTemplateTile(Mat where, Mat what, Mat result, int method, Mat mask) {
+      if (mask == null) {
+        Imgproc.matchTemplate(where, what, result, method);
+      } else {
+        Imgproc.matchTemplate(where, what, result, method, mask);
+      }
+    }
+
     private FindResult2 doFindText() {
       FindResult2 findResult = null;
       Region where = fInput.getWhere();
@@ -755,6 +1209,7 @@ public class Finder implements Iterator<Match> {
       boolean globalSearch = false;
       boolean singleWord = true;
       List<Match> wordsFound;
+      List<List<Match>> wordsOfLines = null;
       String[] textSplit = new String[0];
       java.util.regex.Pattern pattern = null;
 
@@ -779,12 +1234,20 @@ public class Finder implements Iterator<Match> {
             pattern = java.util.regex.Pattern.compile(textSplit[0] + ".*?" + textSplit[2]);
           }
         }
-        wordsFound = OCR.readLines(bimg);
+        if (Settings.OcrTextSearchOnePass) {
+          wordsOfLines = new ArrayList<>();
+          wordsFound = TextRecognizer.get(OCR.globalOptions()).readLinesWithWords(bimg, wordsOfLines);
+        } else {
+          wordsFound = OCR.readLines(bimg);
+        }
       }
       timer = new Date().getTime() - timer;
       List<Match> wordsMatch = new ArrayList<>();
       if (!text.isEmpty()) {
-        for (Match match : wordsFound) {
+        List<Match> linesMatching = new ArrayList<>();
+        List<List<Match>> wordsInLines = new ArrayList<>();
+        for (int nLine = 0; nLine < wordsFound.size(); nLine++) {
+          Match match = wordsFound.get(nLine);
           if (isWord()) {
             if (!isTextMatching(match.getText(), text, pattern)) {
               continue;
@@ -800,11 +1263,19 @@ public class Finder implements Iterator<Match> {
           } else {
             continue;
           }
+          linesMatching.add(match);
+          if (wordsOfLines != null) {
+            wordsInLines.add(relativeToLine(wordsOfLines.get(nLine), match.getRect()));
+          }
+        }
+        if (globalSearch && wordsOfLines == null) {
+          wordsInLines = readWordsInLines(bimg, linesMatching);
+        }
+        for (int nLine = 0; nLine < linesMatching.size(); nLine++) {
+          Match match = linesMatching.get(nLine);
           Rectangle wordOrLine = match.getRect();
-          List<Match> wordsInLine;
           if (globalSearch) {
-            BufferedImage bLine = Image.createSubimage(bimg, wordOrLine);
-            wordsInLine = OCR.readWords(bLine);
+            List<Match> wordsInLine = wordsInLines.get(nLine);
             if (singleWord) {
               for (Match wordInLine : wordsInLine) {
                 if (!isTextContained(wordInLine.getText().toLowerCase(), text.toLowerCase(), null)) {
@@ -869,6 +1340,47 @@ public class Finder implements Iterator<Match> {
       }
       return findResult;
     }
+
+    // the words of each line read from the line's image - concurrently on the find pool,
+    // but in at most Settings.OcrEnginePoolSize tasks (each a chunk of lines), so the engines are reused
+    private List<List<Match>> readWordsInLines(BufferedImage bimg, List<Match> lines) {
+      List<List<Match>> wordsInLines = new ArrayList<>();
+      int taskCount = Math.min(lines.size(), Math.max(1, Settings.OcrEnginePoolSize));
+      if (taskCount == 1) {
+        for (Match line : lines) {
+          wordsInLines.add(OCR.readWords(Image.createSubimage(bimg, line.getRect())));
+        }
+        return wordsInLines;
+      }
+      List<ForkJoinTask<List<List<Match>>>> tasks = new ArrayList<>();
+      int chunk = (lines.size() + taskCount - 1) / taskCount;
+      for (int start = 0; start < lines.size(); start += chunk) {
+        List<Match> chunkLines = lines.subList(start, Math.min(start + chunk, lines.size()));
+        tasks.add(getFindPool().submit(() -> {
+          List<List<Match>> chunkWords = new ArrayList<>();
+          for (Match line : chunkLines) {
+            chunkWords.add(OCR.readWords(Image.createSubimage(bimg, line.getRect())));
+          }
+          return chunkWords;
+        }));
+      }
+      for (ForkJoinTask<List<List<Match>>> task : tasks) {
+        wordsInLines.addAll(task.join());
+      }
+      return wordsInLines;
+    }
+
+    // words read with the lines have coordinates of the image - as if read from the line's image
+    private List<Match> relativeToLine(List<Match> words, Rectangle line) {
+      List<Match> wordsInLine = new ArrayList<>();
+      for (Match word : words) {
+        Rectangle rword = new Rectangle(word.getRect());
+        rword.x -= line.x;
+        rword.y -= line.y;
+        wordsInLine.add(new Match(rword, word.getScore() * 100, word.getText()));
+      }
+      return wordsInLine;
+    }
     //</editor-fold>
 
     //<editor-fold desc="detect changes">
@@ -886,35 +1398,251 @@ public class Finder implements Iterator<Match> {
       return mat.type() == colored || mat.type() == transparent;
     }
 
+    // if not already gray: a new Mat from the pool
+    protected static Mat makeGray(Mat mat) {
+      if (isGray(mat)) {
+        return mat;
+      }
+      Mat mGray = Commons.takeMat(mat.rows(), mat.cols(), gray);
+      Imgproc.cvtColor(mat, mGray, mat.type() == transparent ? Imgproc.COLOR_BGRA2GRAY : toGray);
+      return mGray;
+    }
+
     public static List<Region> findChanges(FindInput2 findInput) {
       findInput.setAttributes();
-      Mat previousGray = Commons.getNewMat();
-      Mat nextGray = Commons.getNewMat();
-      Mat mDiffAbs = Commons.getNewMat();
-      Mat mDiffTresh = Commons.getNewMat();
+      return findChanges(findInput.getBase(), findInput.getTarget());
+    }
+
+    /**
+     * the areas, where a target might now be found, that was not found in the previous image
+     * (the changed rectangles grown by the target size)
+     *
+     * @param previous the image searched before
+     * @param next     the new image
+     * @param target   the target
+     * @return empty if no changes, null if the changed areas cover more than half of the image
+     */
+    protected static List<Rect> getChangedAreas(Mat previous, Mat next, Mat target) {
+      List<Rect> areas = new ArrayList<>();
+      Rectangle rBase = new Rectangle(0, 0, next.cols(), next.rows());
+      long areaSize = 0;
+      for (MatOfPoint contour : findChangedContours(previous, next)) {
+        Rect changed = Imgproc.boundingRect(contour);
+        Rectangle rArea = new Rectangle(changed.x - target.cols(), changed.y - target.rows(),
+            changed.width + 2 * target.cols(), changed.height + 2 * target.rows()).intersection(rBase);
+        if (rArea.isEmpty()) {
+          continue;
+        }
+        areaSize += (long) rArea.width * rArea.height;
+        areas.add(new Rect(rArea.x, rArea.y, rArea.width, rArea.height));
+      }
+      if (areaSize > (long) rBase.width * rBase.height / 2) {
+        return null;
+      }
+      return areas;
+    }
 
-      Imgproc.cvtColor(findInput.getBase(), previousGray, toGray);
-      Imgproc.cvtColor(findInput.getTarget(), nextGray, toGray);
-      Core.absdiff(previousGray, nextGray, mDiffAbs);
-      Imgproc.threshold(mDiffAbs, mDiffTresh, PIXEL_DIFF_THRESHOLD, 0.0, Imgproc.THRESH_TOZERO);
+    protected static List<Region> findChanges(Mat previous, Mat next) {
+      return contoursToRectangle(findChangedContours(previous, next));
+    }
 
-      List<Region> rectangles = new ArrayList<>();
-      if (Core.countNonZero(mDiffTresh) > IMAGE_DIFF_THRESHOLD) {
-        Imgproc.threshold(mDiffAbs, mDiffAbs, PIXEL_DIFF_THRESHOLD, 255, Imgproc.THRESH_BINARY);
-        Imgproc.dilate(mDiffAbs, mDiffAbs, Commons.getNewMat());
-        Mat se = Imgproc.getStructuringElement(Imgproc.MORPH_ELLIPSE, new Size(5, 5));
-        Imgproc.morphologyEx(mDiffAbs, mDiffAbs, Imgproc.MORPH_CLOSE, se);
+    private static List<MatOfPoint> findChangedContours(Mat previous, Mat next) {
+      List<MatOfPoint> contours = new ArrayList<MatOfPoint>();
+      Mat mDiffAbs = Commons.takeMat(next.rows(), next.cols(), gray);
+      if (diffPixels(previous, next, mDiffAbs) > IMAGE_DIFF_THRESHOLD) {
+        addChangedContours(mDiffAbs, contours, new Point(0, 0));
+      }
+      Commons.releaseMat(mDiffAbs);
+      return contours;
+    }
 
-        List<MatOfPoint> contours = new ArrayList<MatOfPoint>();
-        Mat mHierarchy = Commons.getNewMat();
-        Imgproc.findContours(mDiffAbs, contours, mHierarchy, Imgproc.RETR_LIST, Imgproc.CHAIN_APPROX_SIMPLE);
-        rectangles = contoursToRectangle(contours);
+    // the absolute difference of the gray images - returns the number of pixels above PIXEL_DIFF_THRESHOLD
+    private static int diffPixels(Mat previous, Mat next, Mat mDiffAbs) {
+      Mat mDiffTresh = Commons.takeMat(next.rows(), next.cols(), gray);
 
-        //Core.subtract(mDiffAbs, mDiffAbs, mChanges);
-        //Imgproc.drawContours(mChanges, contours, -1, new Scalar(255));
-        //logShow(mDiffAbs);
+      Mat previousGray = makeGray(previous);
+      Mat nextGray = makeGray(next);
+      Core.absdiff(previousGray, nextGray, mDiffAbs);
+      if (previousGray != previous) {
+        Commons.releaseMat(previousGray);
+      }
+      if (nextGray != next) {
+        Commons.releaseMat(nextGray);
+      }
+      Imgproc.threshold(mDiffAbs, mDiffTresh, PIXEL_DIFF_THRESHOLD, 0.0, Imgproc.THRESH_TOZERO);
+      int changed = Core.countNonZero(mDiffTresh);
+      Commons.releaseMat(mDiffTresh);
+      return changed;
+    }
+
+    private static void addChangedContours(Mat mDiffAbs, List<MatOfPoint> contours, Point offset) {
+      Imgproc.threshold(mDiffAbs, mDiffAbs, PIXEL_DIFF_THRESHOLD, 255, Imgproc.THRESH_BINARY);
+      Imgproc.dilate(mDiffAbs, mDiffAbs, Commons.getNewMat());
+      Mat se = Imgproc.getStructuringElement(Imgproc.MORPH_ELLIPSE, new Size(5, 5));
+      Imgproc.morphologyEx(mDiffAbs, mDiffAbs, Imgproc.MORPH_CLOSE, se);
+
+      Mat mHierarchy = Commons.getNewMat();
+      Imgproc.findContours(mDiffAbs, contours, mHierarchy, Imgproc.RETR_LIST, Imgproc.CHAIN_APPROX_SIMPLE, offset);
+      mHierarchy.release();
+      se.release();
+
+      //Core.subtract(mDiffAbs, mDiffAbs, mChanges);
+      //Imgproc.drawContours(mChanges, contours, -1, new Scalar(255));
+      //logShow(mDiffAbs);
+    }
+
+    // staged change detection: blocks of the images are compared by hash first
+    protected static final int CHANGE_BLOCK = 32;
+
+    /**
+     * hashes of the blocks (CHANGE_BLOCK x CHANGE_BLOCK pixels, row by row) of the image
+     *
+     * @param bImg the image
+     * @return the hashes
+     */
+    protected static long[] hashBlocks(BufferedImage bImg) {
+      int w = bImg.getWidth();
+      int h = bImg.getHeight();
+      int cols = (w + CHANGE_BLOCK - 1) / CHANGE_BLOCK;
+      int rows = (h + CHANGE_BLOCK - 1) / CHANGE_BLOCK;
+      long[] hashes = new long[cols * rows];
+      Arrays.fill(hashes, 0xcbf29ce484222325L);
+      WritableRaster raster = bImg.getRaster();
+      int[] data = null;
+      int stride = w;
+      int offset = 0;
+      if (raster.getDataBuffer() instanceof DataBufferInt && raster.getSampleModel() instanceof SinglePixelPackedSampleModel) {
+        // e.g. TYPE_INT_RGB as returned by Robot.createScreenCapture: the pixels directly
+        DataBufferInt dataBuffer = (DataBufferInt) raster.getDataBuffer();
+        data = dataBuffer.getData();
+        stride = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+        offset = dataBuffer.getOffset()
+            - raster.getSampleModelTranslateY() * stride - raster.getSampleModelTranslateX();
+      }
+      int[] row = new int[w];
+      for (int y = 0; y < h; y++) {
+        int start = 0;
+        if (data == null) {
+          bImg.getRGB(0, y, w, 1, row, 0, w);
+        } else {
+          row = data;
+          start = offset + y * stride;
+        }
+        int nBlock = (y / CHANGE_BLOCK) * cols;
+        for (int x = 0; x < w; x += CHANGE_BLOCK) {
+          long hash = hashes[nBlock];
+          int end = start + Math.min(w, x + CHANGE_BLOCK);
+          for (int i = start + x; i < end; i++) {
+            hash = (hash ^ (row[i] & 0xffffff)) * 0x100000001b3L;
+          }
+          hashes[nBlock++] = hash;
+        }
+      }
+      return hashes;
+    }
+
+    /**
+     * the changes between two images, where only the areas around blocks with different hashes are compared
+     * (nothing at all, if all hashes are equal)
+     * <br>gives the same contours as with the whole images, since the unchanged blocks have no difference
+     * and the areas are separated by at least one unchanged block
+     *
+     * @param previous       the previous image
+     * @param previousHashes its block hashes
+     * @param next           the new image
+     * @param nextHashes     its block hashes
+     * @return the contours of the changes
+     */
+    protected static List<MatOfPoint> findChangedContours(BufferedImage previous, long[] previousHashes,
+                                                          BufferedImage next, long[] nextHashes) {
+      int w = next.getWidth();
+      int h = next.getHeight();
+      if (previous.getWidth() != w || previous.getHeight() != h || previousHashes.length != nextHashes.length) {
+        Mat previousMat = Commons.makeMat(previous);
+        Mat nextMat = Commons.makeMat(next);
+        try {
+          return findChangedContours(previousMat, nextMat);
+        } finally {
+          Commons.releaseMat(previousMat);
+          Commons.releaseMat(nextMat);
+        }
+      }
+      List<Rect> areas = getDirtyAreas(previousHashes, nextHashes, (w + CHANGE_BLOCK - 1) / CHANGE_BLOCK, w, h);
+      List<MatOfPoint> contours = new ArrayList<MatOfPoint>();
+      if (areas.isEmpty()) {
+        return contours;
+      }
+      List<Mat> diffs = new ArrayList<>();
+      int changed = 0;
+      for (Rect area : areas) {
+        Mat previousArea = makeAreaMat(previous, area);
+        Mat nextArea = makeAreaMat(next, area);
+        Mat mDiffAbs = Commons.takeMat(area.height, area.width, gray);
+        changed += diffPixels(previousArea, nextArea, mDiffAbs);
+        Commons.releaseMat(previousArea);
+        Commons.releaseMat(nextArea);
+        diffs.add(mDiffAbs);
+      }
+      for (int n = 0; n < areas.size(); n++) {
+        if (changed > IMAGE_DIFF_THRESHOLD) {
+          addChangedContours(diffs.get(n), contours, new Point(areas.get(n).x, areas.get(n).y));
+        }
+        Commons.releaseMat(diffs.get(n));
       }
-      return rectangles;
+      log.trace("findChanges: %d areas: %d changed pixels", areas.size(), changed);
+      return contours;
+    }
+
+    // the changed blocks grown by one block and merged, as long as they overlap (one area, if more than half changed)
+    private static List<Rect> getDirtyAreas(long[] previousHashes, long[] nextHashes, int cols, int w, int h) {
+      List<Rectangle> blockAreas = new ArrayList<>();
+      int dirty = 0;
+      for (int n = 0; n < nextHashes.length; n++) {
+        if (previousHashes[n] == nextHashes[n]) {
+          continue;
+        }
+        dirty++;
+        Rectangle blockArea = new Rectangle(n % cols - 1, n / cols - 1, 3, 3);
+        boolean merged = true;
+        while (merged) {
+          merged = false;
+          Iterator<Rectangle> others = blockAreas.iterator();
+          while (others.hasNext()) {
+            Rectangle other = others.next();
+            if (other.intersects(blockArea)) {
+              blockArea = blockArea.union(other);
+              others.remove();
+              merged = true;
+            }
+          }
+        }
+        blockAreas.add(blockArea);
+      }
+      List<Rect> areas = new ArrayList<>();
+      Rectangle rImage = new Rectangle(0, 0, w, h);
+      if (dirty > nextHashes.length / 2) {
+        areas.add(new Rect(0, 0, w, h));
+        return areas;
+      }
+      for (Rectangle blockArea : blockAreas) {
+        Rectangle area = new Rectangle(blockArea.x * CHANGE_BLOCK, blockArea.y * CHANGE_BLOCK,
+            blockArea.width * CHANGE_BLOCK, blockArea.height * CHANGE_BLOCK).intersection(rImage);
+        areas.add(new Rect(area.x, area.y, area.width, area.height));
+      }
+      return areas;
+    }
+
+    private static Mat makeAreaMat(BufferedImage bImg, Rect area) {
+      BufferedImage bArea = bImg.getSubimage(area.x, area.y, area.width, area.height);
+      if (bImg.getType() != BufferedImage.TYPE_INT_RGB) {
+        // only TYPE_INT_RGB sub images are converted directly
+        BufferedImage bCopy = new BufferedImage(area.width, area.height, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D graphics = bCopy.createGraphics();
+        graphics.drawImage(bArea, 0, 0, null);
+        graphics.dispose();
+        bArea = bCopy;
+      }
+      return Commons.makeMat(bArea);
     }
 
     public static List<Region> contoursToRectangle(List<MatOfPoint> contours) {
@@ -1064,6 +1792,14 @@ public class Finder implements Iterator<Match> {
 
     public void setTarget(Mat target) {
       this.target = target;
+      findTarget = null;
+    }
+
+    private FindTarget findTarget = null;
+
+    public void setTarget(FindTarget findTarget) {
+      this.target = findTarget.getTarget();
+      this.findTarget = findTarget;
     }
 
     public Mat getTarget() {
@@ -1136,15 +1872,50 @@ public class Finder implements Iterator<Match> {
     }
 
     private Mat source = null;
+    private Mat sourceGray = null;
+    private FindInput2 sourceInput = null;
 
     public void setSource(Mat source) {
+      release();
       this.source = source;
+      sourceInput = null;
+    }
+
+    /**
+     * share the base of another FindInput2 (the gray version is made only once)
+     *
+     * @param other FindInput2
+     */
+    public void setSource(FindInput2 other) {
+      release();
+      source = other.getBase();
+      sourceInput = other;
+    }
+
+    /**
+     * gives back the gray version of the base made from the pool
+     */
+    public synchronized void release() {
+      if (sourceGray != null && sourceGray != source) {
+        Commons.releaseMat(sourceGray);
+      }
+      sourceGray = null;
     }
 
     public Mat getBase() {
       return source;
     }
 
+    public synchronized Mat getBaseGray() {
+      if (sourceInput != null) {
+        return sourceInput.getBaseGray();
+      }
+      if (sourceGray == null) {
+        sourceGray = Finder2.makeGray(source);
+      }
+      return sourceGray;
+    }
+
     boolean isPattern = false;
 
     public void setIsPattern() {
@@ -1167,8 +1938,15 @@ public class Finder implements Iterator<Match> {
       return similarity >= 0.99;
     }
 
+    private boolean findDownsized = false;
+
+    public void setFindDownsized(boolean findDownsized) {
+      this.findDownsized = findDownsized;
+    }
+
     public boolean shouldSearchDownsized(float resizeMinFactor) {
-      return !hasMask() && !isExact() && !isFindAll() && getResizeFactor() > resizeMinFactor;
+      return findDownsized && !hasMask() && !isExact() && !isFindAll() && !isPlainColor()
+          && getResizeFactor() > resizeMinFactor;
     }
 
     private double scoreMaxDiff = 0.05;
@@ -1212,40 +1990,61 @@ public class Finder implements Iterator<Match> {
 
     protected double resizeFactor;
 
-    private final int resizeMinDownSample = 12;
-    private int[] meanColor = null;
-    private double minThreshhold = 1.0E-5;
+    double targetStdDev = -1;
+    double targetMean = -1;
 
-    public Color getMeanColor() {
-      return new Color(meanColor[2], meanColor[1], meanColor[0]);
+    public void setAttributes() {
+      if (targetTypeText) {
+        return;
+      }
+      if (findTarget == null) {
+        findTarget = new FindTarget(target, mask);
+      }
+      targetBGR = findTarget.getTarget();
+      mask = findTarget.getMask();
+      grayColor = findTarget.grayColor;
+      plainColor = findTarget.plainColor;
+      blackColor = findTarget.blackColor;
+      whiteColor = findTarget.whiteColor;
+      resizeFactor = findTarget.resizeFactor;
+      targetStdDev = findTarget.targetStdDev;
+      targetMean = findTarget.targetMean;
     }
 
-    public boolean isMeanColorEqual(Color otherMeanColor) {
-      Color col = getMeanColor();
-      int r = (col.getRed() - otherMeanColor.getRed()) * (col.getRed() - otherMeanColor.getRed());
-      int g = (col.getGreen() - otherMeanColor.getGreen()) * (col.getGreen() - otherMeanColor.getGreen());
-      int b = (col.getBlue() - otherMeanColor.getBlue()) * (col.getBlue() - otherMeanColor.getBlue());
-      return Math.sqrt(r + g + b) < minThreshhold;
+    public String toString() {
+      return String.format("(stdDev: %.4f mean: %4f)", targetStdDev, targetMean);
     }
+  }
 
+  /**
+   * the ready-to-match artefacts of an image (BGR or gray Mat, mask, mean/stddev and plain color flags)
+   * <br>might be cached with the Image (see Image.getFindTarget())
+   */
+  protected static class FindTarget {
+
+    private static final int resizeMinDownSample = 12;
+    private static final double minThreshhold = 1.0E-5;
+
+    private Mat targetBGR;
+    private Mat mask;
+
+    boolean grayColor = false;
+    boolean plainColor = false;
+    boolean blackColor = false;
+    boolean whiteColor = false;
+    double resizeFactor = 1;
     double targetStdDev = -1;
     double targetMean = -1;
+    private int[] meanColor = null;
 
-    public void setAttributes() {
-      if (targetTypeText) {
-        return;
-      }
+    protected FindTarget(Mat target, Mat givenMask) {
       List<Mat> mats = Finder2.extractMask(target, true);
       targetBGR = mats.get(0);
-      if (mask.empty()) {
-        mask = mats.get(1);
-      }
+      mask = givenMask.empty() ? mats.get(1) : givenMask;
 
       if (targetBGR.channels() == 1) {
         grayColor = true;
       }
-      plainColor = false;
-      blackColor = false;
       resizeFactor = Math.min(((double) targetBGR.width()) / resizeMinDownSample,
           ((double) targetBGR.height()) / resizeMinDownSample);
       resizeFactor = Math.max(1.0, resizeFactor);
@@ -1284,8 +2083,31 @@ public class Finder implements Iterator<Match> {
       }
     }
 
-    public String toString() {
-      return String.format("(stdDev: %.4f mean: %4f)", targetStdDev, targetMean);
+    protected Mat getTarget() {
+      return targetBGR;
+    }
+
+    protected Mat getMask() {
+      return mask;
+    }
+
+    /**
+     * @return the native memory used by the Mats
+     */
+    protected long getBytes() {
+      return targetBGR.total() * targetBGR.elemSize() + mask.total() * mask.elemSize();
+    }
+
+    public Color getMeanColor() {
+      return new Color(meanColor[2], meanColor[1], meanColor[0]);
+    }
+
+    public boolean isMeanColorEqual(Color otherMeanColor) {
+      Color col = getMeanColor();
+      int r = (col.getRed() - otherMeanColor.getRed()) * (col.getRed() - otherMeanColor.getRed());
+      int g = (col.getGreen() - otherMeanColor.getGreen()) * (col.getGreen() - otherMeanColor.getGreen());
+      int b = (col.getBlue() - otherMeanColor.getBlue()) * (col.getBlue() - otherMeanColor.getBlue());
+      return Math.sqrt(r + g + b) < minThreshhold;
     }
   }
 
@@ -1300,9 +2122,13 @@ public class Finder implements Iterator<Match> {
     private FindResult2() {
     }
 
+    // the matches are known (text or last seen)
+    private boolean listed = false;
+
     public FindResult2(List<Match> matches, FindInput2 findInput) {
       this.matches = matches;
       this.findInput = findInput;
+      listed = true;
     }
 
     public FindResult2(Mat result, FindInput2 findInput) {
@@ -1334,18 +2160,28 @@ public class Finder implements Iterator<Match> {
     private int marginX = -1;
     private int marginY = -1;
 
+    // only when more than one match is wanted (findAll): the local maxima above the target score
+    // (best first) and the places of the matches so far (the area around a match is no candidate anymore)
+    private List<Finder2.Peak> peaks = null;
+    private int peakIndex = 0;
+    private List<int[]> found = new ArrayList<>();
+    private boolean hasPeak = false;
+    private boolean advance = false;
+    private boolean stopped = false;
+
     public boolean hasNext() {
-      if (findInput.isText()) {
+      if (listed) {
         if (matches.size() > 0) {
           return true;
         }
         return false;
       }
-      resultMinMax = Core.minMaxLoc(result);
-      currentScore = resultMinMax.maxVal;
-      currentX = (int) resultMinMax.maxLoc.x;
-      currentY = (int) resultMinMax.maxLoc.y;
       if (lastScore < 0) {
+        resultMinMax = Core.minMaxLoc(result);
+        currentScore = resultMinMax.maxVal;
+        currentX = (int) resultMinMax.maxLoc.x;
+        currentY = (int) resultMinMax.maxLoc.y;
+        hasPeak = true;
         lastScore = currentScore;
         targetScore = findInput.getScore();
         baseW = result.width();
@@ -1356,45 +2192,93 @@ public class Finder implements Iterator<Match> {
         marginY = (int) (targetH * 0.8);
         matchCount = 0;
       }
+      if (advance) {
+        advance = false;
+        nextPeak();
+      }
       boolean isMatch = false;
-      if (currentScore > targetScore) {
-        if (matchCount == 0) {
-          isMatch = true;
-        } else if (matchCount == 1) {
-          scoreMeanDiff = lastScore - currentScore;
+      if (hasPeak && currentScore > targetScore) {
+        if (matchCount < 2) {
           isMatch = true;
         } else {
           double scoreDiff = lastScore - currentScore;
           if (findInput.isPattern || scoreDiff <= (scoreMeanDiff + 0.01)) { // 0.005
-            scoreMeanDiff = ((scoreMeanDiff * matchCount) + scoreDiff) / (matchCount + 1);
             isMatch = true;
           }
         }
-        if (!isMatch) {
+        if (!isMatch && !stopped) {
+          stopped = true;
           Debug.log(3, "findAll: (%d) stop: %.4f (%.4f) %s", matchCount, currentScore, scoreMeanDiff, findInput);
         }
       }
+      if (!isMatch) {
+        // no more matches: the result is not needed anymore
+        release();
+      }
       return isMatch;
     }
 
     public Match next() {
       Match match = null;
       if (hasNext()) {
-        if (findInput.isText()) {
+        if (listed) {
           return matches.remove(0);
         } else {
           match = new Match(currentX + offX, currentY + offY, targetW, targetH, currentScore, null);
+          if (matchCount == 1) {
+            scoreMeanDiff = lastScore - currentScore;
+          } else if (matchCount > 1) {
+            scoreMeanDiff = ((scoreMeanDiff * matchCount) + (lastScore - currentScore)) / (matchCount + 1);
+          }
           matchCount++;
           lastScore = currentScore;
-          //int margin = getPurgeMargin();
-          Range rangeX = new Range(Math.max(currentX - marginX, 0), Math.min(currentX + marginX, result.width()));
-          Range rangeY = new Range(Math.max(currentY - marginY, 0), Math.min(currentY + marginY, result.height()));
-          result.colRange(rangeX).rowRange(rangeY).setTo(new Scalar(0f));
+          found.add(new int[]{currentX, currentY});
+          // the next candidate only if asked for (a find takes only the first match)
+          advance = true;
         }
       }
       return match;
     }
 
+    /**
+     * gives back the result Mat to the pool (not needed anymore, when the peaks are known)
+     */
+    public void release() {
+      Commons.releaseMat(result);
+      result = null;
+    }
+
+    // the best candidate not in the area of the matches so far
+    private void nextPeak() {
+      if (peaks == null) {
+        peaks = Finder2.findPeaks(result, targetScore, Math.max(1, marginX / 2), Math.max(1, marginY / 2), 0);
+        release();
+      }
+      hasPeak = false;
+      while (peakIndex < peaks.size()) {
+        Finder2.Peak peak = peaks.get(peakIndex++);
+        if (isSuppressed(peak)) {
+          continue;
+        }
+        currentScore = peak.score;
+        currentX = peak.x;
+        currentY = peak.y;
+        hasPeak = true;
+        break;
+      }
+    }
+
+    private boolean isSuppressed(Finder2.Peak peak) {
+      for (int[] match : found) {
+        int dx = peak.x - match[0];
+        int dy = peak.y - match[1];
+        if (dx >= -marginX && dx < marginX && dy >= -marginY && dy < marginY) {
+          return true;
+        }
+      }
+      return false;
+    }
+
     private int getPurgeMargin() {
       if (currentScore < 0.95) {
         return 4;
@@ -39,17 +39,34 @@ import java.util.*;
  * - a list of all images ever loaded in this session with their source
  * reference and a ref to the image object<br>
  * - a list of all images currently having their content in memory (buffered
- * image) (managed as a configurable cache)<br>
+ * image) (managed as a configurable cache, least recently used evicted first)<br>
+ * - together with the buffered image the ready-to-match OpenCV Mats (counted in the cache size)<br>
  * The caching can be configured using {@link Settings#setImageCache(int)}
  */
 public class Image extends Element {
 
   private static String logName = "Image: ";
 
-  private static List<Image> images = Collections.synchronizedList(new ArrayList<Image>());
+  // images currently having their content in memory - in access order (least recently used first)
+  private static Map<Image, Image> images = new LinkedHashMap<>(16, 0.75f, true);
   private static Map<URL, Image> imageFiles = Collections.synchronizedMap(new HashMap<URL, Image>());
   private static Map<String, URL> imageNames = Collections.synchronizedMap(new HashMap<String, URL>());
 
+  // with a thread bundle path (ImagePath.setThreadBundleFolder) names are resolved on each create,
+  // since the same name might denote different images in different bundles
+  private static URL getNamedURL(String name) {
+    if (ImagePath.hasThreadBundle()) {
+      return null;
+    }
+    return imageNames.get(name);
+  }
+
+  private static void putNamedURL(String name, URL url) {
+    if (!ImagePath.hasThreadBundle()) {
+      imageNames.put(name, url);
+    }
+  }
+
   //<editor-fold desc="00 0  instance">
   public static Image getDefaultInstance4py() {
     return new Image(new Screen().capture());
@@ -95,7 +112,7 @@ public class Image extends Element {
         fURL = Commons.makeURL(imgFile);
       }
     } else {
-      fURL = imageNames.get(img.getName());
+      fURL = getNamedURL(img.getName());
       if (fURL == null) {
         fURL = ImagePath.find(img.getName());
       }
@@ -333,6 +350,76 @@ public class Image extends Element {
   private BufferedImage bimg = null;
   private int bsize = 0;
 
+  private Finder.FindTarget findTarget = null;
+  private int msize = 0;
+  private long fileModified = 0;
+  private long fileChecked = 0;
+  // the image file is checked for modification at most once in this time (msec)
+  private static final long FILE_CHECK_INTERVAL = 1000;
+
+  /**
+   * INTERNAL USE: the ready-to-match Mats of this image, if cached
+   * <br>is dropped together with the cached image, if the image file was modified since loaded
+   *
+   * @return the cached FindTarget or null
+   */
+  protected Finder.FindTarget getFindTarget() {
+    Image cached = getCachedImage();
+    if (cached == null) {
+      return null;
+    }
+    Finder.FindTarget target = cached.findTarget;
+    if (target == null) {
+      return null;
+    }
+    if (cached.isFile()) {
+      long now = System.currentTimeMillis();
+      if (now - cached.fileChecked < FILE_CHECK_INTERVAL) {
+        return target;
+      }
+      cached.fileChecked = now;
+      if (Commons.urlToFile(cached.fileURL).lastModified() != cached.fileModified) {
+        log(logLevel, "modified: %s", cached.getName());
+        unCache(cached);
+        return null;
+      }
+    }
+    return target;
+  }
+
+  /**
+   * INTERNAL USE: cache the ready-to-match Mats of this image
+   * <br>only for images loaded from file or jar and currently held in the cache
+   *
+   * @param target the FindTarget
+   */
+  protected void setFindTarget(Finder.FindTarget target) {
+    synchronized (Image.class) {
+      Image cached = getCachedImage();
+      if (cached == null || cached.findTarget != null) {
+        return;
+      }
+      cached.findTarget = target;
+      cached.msize = (int) target.getBytes();
+      cacheResize(target.getBytes());
+    }
+  }
+
+  private Image getCachedImage() {
+    if (!isCaching() || fileURL == null) {
+      return null;
+    }
+    Image cached = imageFiles.get(fileURL);
+    if (cached == null || cached.bimg == null) {
+      return null;
+    }
+    return cached;
+  }
+
+  private int getCachedSize() {
+    return bsize + msize;
+  }
+
   public static BufferedImage getSubimage(BufferedImage bimg, Rectangle rect) {
     return bimg.getSubimage(rect.x, rect.y, (int) rect.getWidth(), (int) rect.getHeight());
   }
@@ -353,13 +440,16 @@ public class Image extends Element {
    * @return BufferedImage (might be null)
    */
   public BufferedImage get() {
-    if (bimg != null) {
+    // read once: might be evicted from the cache by another thread meanwhile
+    BufferedImage img = bimg;
+    if (img != null) {
       if (fileURL == null) {
         log(logLevel + 1, "getImage inMemory: %s", getName());
       } else {
         log(logLevel + 1, "getImage from cache: %s", getName());
+        cacheHit(this);
       }
-      return bimg;
+      return img;
     } else {
       return load();
     }
@@ -376,7 +466,7 @@ public class Image extends Element {
     if (bimg == null) {
       return 0;
     }
-    return (int) bsize / KB;
+    return getCachedSize() / KB;
   }
 
   /**
@@ -706,45 +796,57 @@ public class Image extends Element {
   private final static String isMat = "__OpenCV_Mat__";
 
   private static long currentMemory = 0;
+  private static long cacheHits = 0;
+  private static long cacheMisses = 0;
+  private static long cacheEvictions = 0;
 
-  private static synchronized long currentMemoryChange(long size, long max) {
-    long maxMemory = max;
-    if (max < 0) {
-      maxMemory = Settings.getImageCache() * MB;
-      currentMemory += size;
-    }
-    if (currentMemory > maxMemory) {
-      Image first;
-      while (images.size() > 0 && currentMemory > maxMemory) {
-        first = images.remove(0);
-        first.bimg = null;
-        currentMemory -= first.bsize;
-      }
-      if (maxMemory == 0) {
-        currentMemory = 0;
-      } else {
-        currentMemory = Math.max(0, currentMemory);
-      }
-    }
-    if (size < 0) {
-      currentMemory = Math.max(0, currentMemory);
+  private static synchronized void cacheAdd(Image img) {
+    if (images.put(img, img) == null) {
+      currentMemory += img.getCachedSize();
     }
-    return currentMemory;
+    cacheEvict((long) Settings.getImageCache() * MB);
   }
 
-  private static long currentMemoryUp(long size) {
-    return currentMemoryChange(size, -1);
+  private static synchronized void cacheMiss(Image img) {
+    cacheMisses++;
+    cacheRemove(img);
+    cacheAdd(img);
   }
 
-  private static long currentMemoryDown(long size) {
-    currentMemory -= size;
-    currentMemory = Math.max(0, currentMemory);
-    return currentMemoryChange(-size, -1);
+  private static synchronized void cacheHit(Image img) {
+    if (images.get(img) != null) {
+      cacheHits++;
+    }
   }
 
-  private static long currentMemoryDownUp(int sizeOld, int sizeNew) {
-    currentMemoryDown(sizeOld);
-    return currentMemoryUp(sizeNew);
+  private static synchronized void cacheResize(long size) {
+    currentMemory = Math.max(0, currentMemory + size);
+    cacheEvict((long) Settings.getImageCache() * MB);
+  }
+
+  private static synchronized void cacheRemove(Image img) {
+    if (images.remove(img) != null) {
+      currentMemory = Math.max(0, currentMemory - img.getCachedSize());
+    }
+    img.findTarget = null;
+    img.msize = 0;
+  }
+
+  private static synchronized void cacheEvict(long maxMemory) {
+    Iterator<Image> it = images.keySet().iterator();
+    while (currentMemory > maxMemory && it.hasNext()) {
+      Image eldest = it.next();
+      it.remove();
+      currentMemory -= eldest.getCachedSize();
+      eldest.bimg = null;
+      eldest.findTarget = null;
+      eldest.msize = 0;
+      cacheEvictions++;
+      log(logLevel + 1, "evicted: %s", eldest.getName());
+    }
+    if (images.isEmpty()) {
+      currentMemory = 0;
+    }
   }
 
   private static boolean isCaching() {
@@ -752,7 +854,26 @@ public class Image extends Element {
   }
 
   public static void clearCache(int maxSize) {
-    currentMemoryChange(0, maxSize);
+    cacheEvict((long) maxSize * MB);
+  }
+
+  /**
+   * the current state of the image cache
+   * <br>{entries, used bytes, hits, misses, evictions}
+   *
+   * @return the counters as long[5]
+   */
+  public static synchronized long[] getCacheStatistics() {
+    return new long[]{images.size(), currentMemory, cacheHits, cacheMisses, cacheEvictions};
+  }
+
+  /**
+   * reset the hit/miss/eviction counters of the image cache
+   */
+  public static synchronized void resetCacheStatistics() {
+    cacheHits = 0;
+    cacheMisses = 0;
+    cacheEvictions = 0;
   }
 
   public static void purge() {
@@ -769,7 +890,7 @@ public class Image extends Element {
   }
 
   private static synchronized void purge(URL pathURL) {
-    List<Image> imagePurgeList = new ArrayList<>();
+    Set<Image> imagePurgeList = Collections.newSetFromMap(new IdentityHashMap<>());
     List<String> imageNamePurgeList = new ArrayList<>();
     URL imgURL;
     Image img;
@@ -787,15 +908,10 @@ public class Image extends Element {
         it.remove();
       }
     }
-    if (!imagePurgeList.isEmpty()) {
-      Iterator<Image> bit = images.iterator();
-      while (bit.hasNext()) {
-        img = bit.next();
-        if (imagePurgeList.contains(img)) {
-          bit.remove();
-          log(logLevel + 1, "purge: bimg: %s", img);
-          currentMemoryDown(img.bsize);
-        }
+    for (Image purged : imagePurgeList) {
+      if (images.containsKey(purged)) {
+        log(logLevel + 1, "purge: bimg: %s", purged);
+        cacheRemove(purged);
       }
     }
     for (String name : imageNamePurgeList) {
@@ -808,9 +924,12 @@ public class Image extends Element {
     if (img == null) {
       return;
     }
-    currentMemoryDown(img.bsize);
+    unCache(img);
+  }
+
+  private static void unCache(Image img) {
+    cacheRemove(img);
     img.setBimg(null);
-    images.remove(img);
   }
 
   //TODO make obsolete
@@ -854,9 +973,11 @@ public class Image extends Element {
     if (Settings.getImageCache() == 0) {
       log(logLevel, "Cache state: switched off!");
     } else {
+      long[] stats = getCacheStatistics();
       log(logLevel, "Cache state: Max %d MB (entries: %d  used: %d %% %d KB)",
-          Settings.getImageCache(), images.size(),
-          (int) (100 * currentMemory / (Settings.getImageCache() * MB)), (int) (currentMemory / KB));
+          Settings.getImageCache(), stats[0],
+          (int) (100 * stats[1] / (Settings.getImageCache() * MB)), (int) (stats[1] / KB));
+      log(logLevel, "Cache usage: hits: %d  misses: %d  evictions: %d", stats[2], stats[3], stats[4]);
     }
     log(logLevel, "--- end of Image dump ---");
   }
@@ -952,15 +1073,15 @@ public class Image extends Element {
 //        } catch (MalformedURLException e) {
 //        }
       } else {
-        imageURL = imageNames.get(imageFileName);
+        imageURL = getNamedURL(imageFileName);
         if (imageURL == null) {
           imageURL = ImagePath.find(imageFileName);
         }
       }
       if (imageURL != null && Image.isCaching()) {
         image = imageFiles.get(imageURL);
-        if (image != null && null == imageNames.get(image.getName())) {
-          imageNames.put(image.getName(), imageURL);
+        if (image != null && null == getNamedURL(image.getName())) {
+          putNamedURL(image.getName(), imageURL);
         }
       }
       if (image == null) {
@@ -968,6 +1089,7 @@ public class Image extends Element {
         image.setIsAbsolute(imageFile.isAbsolute());
       } else {
         if (image.bimg != null) {
+          cacheHit(image);
           if (!silent) {
             log(3, "reused: %s (%s)", image.getName(), image.fileURL);
           }
@@ -997,21 +1119,25 @@ public class Image extends Element {
       if (getName() != null) {
         if (isCaching()) {
           imageFiles.put(fileURL, this);
-          imageNames.put(getName(), fileURL);
+          putNamedURL(getName(), fileURL);
         }
         w = bImage.getWidth();
         h = bImage.getHeight();
         bsize = bImage.getData().getDataBuffer().getSize();
+        if (isFile()) {
+          fileModified = Commons.urlToFile(fileURL).lastModified();
+          fileChecked = System.currentTimeMillis();
+        }
         log(logLevel, "loaded: %s (%s)", getName(), fileURL);
         if (isCaching()) {
           int maxMemory = Settings.getImageCache() * MB;
-          currentMemoryUp(bsize);
           bimg = bImage;
-          images.add(this);
+          cacheMiss(this);
+          long[] stats = getCacheStatistics();
           log(logLevel, "cached: %s (%d KB) (# %d KB %d -- %d %% of %d MB)",
               getName(), getKB(),
-              images.size(), (int) (currentMemory / KB),
-              (int) (100 * currentMemory / maxMemory), (int) (maxMemory / MB));
+              stats[0], (int) (stats[1] / KB),
+              (int) (100 * stats[1] / maxMemory), (int) (maxMemory / MB));
         }
       } else {
         log(-1, "invalid! not loaded! %s", fileURL);
@@ -1024,6 +1150,7 @@ public class Image extends Element {
     BufferedImage bImage = null;
     if (fileURL != null) {
       bimg = null;
+      findTarget = null;
       try {
         bImage = ImageIO.read(fileURL);
       } catch (Exception e) {
@@ -1036,7 +1163,7 @@ public class Image extends Element {
       }
       if (isCaching()) {
         imageFiles.put(fileURL, this);
-        imageNames.put(getName(), fileURL);
+        putNamedURL(getName(), fileURL);
       }
       w = bImage.getWidth();
       h = bImage.getHeight();
@@ -1051,9 +1178,8 @@ public class Image extends Element {
     URL uImage = imageNames.get(fpImage);
     if (imageFiles.containsKey(uImage)) {
       Image image = imageFiles.get(uImage);
-      int sizeOld = image.bsize;
+      cacheRemove(image);
       if (null != image.loadAgain()) {
-        currentMemoryDownUp(sizeOld, image.bsize);
         image.setLastSeen(null, 0);
       }
     }
@@ -1062,7 +1188,7 @@ public class Image extends Element {
   public static void setIDEshouldReload(Image img) {
     ideShouldReload = true;
     img.wasRecaptured = true;
-    img.lastSeen = null;
+    img.setLastSeen(null, 0);
   }
 
   public static boolean getIDEshouldReload() {
@@ -1166,11 +1292,76 @@ public class Image extends Element {
    * @param sim      SimilarityScore
    * @return the image
    */
-  public Image setLastSeen(Rectangle lastSeen, double sim) {
+  public synchronized Image setLastSeen(Rectangle lastSeen, double sim) {
+    if (lastSeen == null || !lastSeen.equals(this.lastSeen) || sim != lastScore) {
+      lastSeenHash = 0;
+    }
     this.lastSeen = lastSeen;
     this.lastScore = sim;
     return this;
   }
+
+  private long lastSeenHash = 0;
+  private float lastSeenResize = 0;
+
+  /**
+   * Internal Use: set the last seen info after a find in the given image
+   * (the pixels there are remembered for isLastSeenUnchanged())
+   *
+   * @param lastSeen Match
+   * @param sim      SimilarityScore
+   * @param simg     the image searched
+   * @param resize   the resize factor of the pattern (0 = none)
+   * @return the image
+   */
+  public synchronized Image setLastSeen(Rectangle lastSeen, double sim, ScreenImage simg, float resize) {
+    setLastSeen(lastSeen, sim);
+    return setLastSeen(lastSeen, sim, hashLastSeen(simg), resize);
+  }
+
+  /**
+   * Internal Use: set the last seen info after a find with the already known hash of the pixels there
+   *
+   * @param lastSeen Match
+   * @param sim      SimilarityScore
+   * @param hash     hashLastSeen() of the image searched (taken with this lastSeen)
+   * @param resize   the resize factor of the pattern (0 = none)
+   * @return the image
+   */
+  public synchronized Image setLastSeen(Rectangle lastSeen, double sim, long hash, float resize) {
+    setLastSeen(lastSeen, sim);
+    lastSeenHash = hash;
+    lastSeenResize = resize;
+    return this;
+  }
+
+  /**
+   * Internal Use: are the pixels at the last seen position the same as when it was seen there
+   * (compared by hash) and is it the same kind of search (resize factor)
+   * <br>then the image is still there with the same score (no search needed)
+   *
+   * @param hash   hashLastSeen() of the image to check
+   * @param resize the resize factor of the pattern (0 = none)
+   * @return true if unchanged, false if changed or not known
+   */
+  public synchronized boolean isLastSeenUnchanged(long hash, float resize) {
+    return hash != 0 && hash == lastSeenHash && resize == lastSeenResize;
+  }
+
+  /**
+   * Internal Use: the hash of the pixels at the last seen position in the given image
+   *
+   * @param simg the image
+   * @return the hash or 0 (not seen or not inside the image)
+   */
+  public synchronized long hashLastSeen(ScreenImage simg) {
+    if (lastSeen == null || simg == null || !simg.getRect().contains(lastSeen)) {
+      return 0;
+    }
+    Rectangle rect = new Rectangle(lastSeen);
+    rect.translate(-simg.getRect().x, -simg.getRect().y);
+    return Commons.hashPixels(simg.getImage(), rect);
+  }
   //</editor-fold>
 
   //<editor-fold desc="10 raster">
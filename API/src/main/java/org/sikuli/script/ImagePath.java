@@ -684,10 +684,51 @@ public class ImagePath {
     return null;
   }
 
+  private static final ThreadLocal<PathEntry> threadBundle = new ThreadLocal<>();
+
+  /**
+   * INTERNAL USE: the given folder is the bundle path (entry 0) for the current thread only
+   * (scripts run in parallel, e.g. by the server, each with its own bundle)
+   *
+   * @param folder the bundle folder or null to use the global bundle path again
+   */
+  public static void setThreadBundleFolder(File folder) {
+    if (folder == null) {
+      threadBundle.remove();
+      return;
+    }
+    PathEntry entry = getPathEntry(folder, null);
+    if (entry != null && entry.isValid()) {
+      threadBundle.set(entry);
+      log(lvl, "new thread BundlePath: %s", entry);
+    }
+  }
+
+  static boolean hasThreadBundle() {
+    return threadBundle.get() != null;
+  }
+
   protected static PathEntry getBundle() {
+    PathEntry entry = threadBundle.get();
+    if (entry != null) {
+      return entry;
+    }
     return imagePaths.get(0);
   }
 
+  // the path entries to search: entry 0 is the bundle path as seen by the current thread
+  private static List<PathEntry> getSearchPaths() {
+    if (!hasThreadBundle()) {
+      return imagePaths;
+    }
+    List<PathEntry> paths;
+    synchronized (imagePaths) {
+      paths = new ArrayList<>(imagePaths);
+    }
+    paths.set(0, getBundle());
+    return paths;
+  }
+
   private static boolean isBundle(PathEntry pathEntry) {
     return getBundle() != null && getBundle().equals(pathEntry);
   }
@@ -733,7 +774,7 @@ public class ImagePath {
       }
       return fURL;
     } else {
-      for (PathEntry entry : getPaths()) {
+      for (PathEntry entry : getSearchPaths()) {
         if (entry == null || !entry.isValid()) {
           continue;
         }
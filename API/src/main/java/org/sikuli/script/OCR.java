@@ -19,7 +19,10 @@ import java.util.*;
 /**
  * Static helper class for OCR via Tess4J/Tesseract.
  * <p>
- * The methods in this class are not threadsafe.
+ * The methods in this class are not threadsafe with respect to changing Options.
+ * <br>The Tesseract engines are initialized once and pooled per effective Options
+ * (see Settings.OcrEnginePoolSize and Settings.OcrEngineIdleTime),
+ * so reading in parallel from different threads is possible, as long as the used Options are not changed meanwhile.
  * @see <a href="https://sikulix-2014.readthedocs.io/en/latest/textandocr.html">SikuliX docs: Text and OCR</a>
  */
 public class OCR {
@@ -682,6 +685,23 @@ public class OCR {
   public static void status() {
     Debug.logp("Global settings " + globalOptions().toString());
   }
+
+  /**
+   * the current state of the OCR result cache (see Settings.OcrCacheSize)
+   * <br>reading the same pixels again with the same options returns the cached result
+   *
+   * @return {entries, used bytes, hits, misses, evictions}
+   */
+  public static long[] getCacheStatistics() {
+    return TextRecognizer.getCacheStatistics();
+  }
+
+  /**
+   * removes all cached OCR results and resets the counters
+   */
+  public static void clearCache() {
+    TextRecognizer.clearCache();
+  }
   //</editor-fold>
 
   //<editor-fold desc="20 text">
@@ -27,6 +27,7 @@ public class Pattern {
   private int waitAfter = 0;
   private boolean imagePattern = false;
   private float resizeFactor = 0;
+  private Boolean findDownsized = null;
 
   public static Pattern make(Image img, double sim, Location off, float rFactor, String mask) {
     org.sikuli.script.Pattern pattern = new org.sikuli.script.Pattern(img);
@@ -56,6 +57,7 @@ public class Pattern {
     offset.y = p.offset.y;
     imagePattern = image.isPattern();
     resizeFactor = p.getResize();
+    findDownsized = p.findDownsized;
   }
 
   /**
@@ -78,6 +80,37 @@ public class Pattern {
     return resizeFactor;
   }
 
+  /**
+   * search this pattern first in a downsized base image and
+   * verify the candidate in the original size (overrides Settings.FindDownsized)
+   *
+   * @return the Pattern object itself
+   */
+  public Pattern downsized() {
+    return downsized(true);
+  }
+
+  /**
+   * switch the downsized search on or off for this pattern (overrides Settings.FindDownsized)
+   *
+   * @param state true/false
+   * @return the Pattern object itself
+   */
+  public Pattern downsized(boolean state) {
+    findDownsized = state;
+    return this;
+  }
+
+  /**
+   * @return true if the downsized search should be used (Settings.FindDownsized if not set for this pattern)
+   */
+  public boolean isDownsized() {
+    if (findDownsized == null) {
+      return Settings.FindDownsized;
+    }
+    return findDownsized;
+  }
+
   /**
    * true if Pattern was created from Image
    *
@@ -146,8 +179,13 @@ public class Pattern {
   }
 
   private Mat extractMask() {
-    List<Mat> mats = Finder.Finder2.extractMask(Commons.makeMat(image.get(), false), false);
-    return mats.get(1);
+    Mat mat = Commons.makeMat(image.get(), false);
+    try {
+      // only the mask is kept
+      return Finder.Finder2.extractMask(mat, false).get(1);
+    } finally {
+      Commons.releaseMat(mat);
+    }
   }
 
   private boolean isMask = false;
@@ -17,6 +17,10 @@ import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -2315,13 +2319,6 @@ public class Region extends Element {
     return doExists(rf, timeout);
   }
 
-  private <PSI> RepeatableFind existsStoppableInit(PSI target) {
-    lastMatch = null;
-    RepeatableFind rf = doExistsInit(target);
-    rf.resetShouldStop();
-    return rf;
-  }
-
   private <PSI> RepeatableFind doExistsInit(PSI target) {
     RepeatableFind rf = new RepeatableFind(target, null);
     Image img = rf._image;
@@ -2483,6 +2480,9 @@ public class Region extends Element {
         if (getFindFailedResponse() != FindFailedResponse.ABORT) {
           response = handleFindFailed(target, img);
           if (null == response) {
+            if (rf._finder != null) {
+              rf._finder.destroy();
+            }
             throw new FindFailed(FindFailed.createErrorMessage(this, img));
           }
         } else {
@@ -2494,6 +2494,24 @@ public class Region extends Element {
     return lastMatches;
   }
 
+  /**
+   * finds all occurences of each of the given Patterns in one capture of the region
+   * <br>the Patterns are searched in parallel (see Settings.FindThreads),
+   * no waiting and no FindFailed handling (a Pattern not found has an empty list)
+   *
+   * @param patterns list of Pattern
+   * @return for each Pattern (in the given order) the list of matches
+   */
+  public Map<Pattern, List<Match>> findAll(List<Pattern> patterns) {
+    Debug.log(logLevel, "findAll: batch of %d patterns in %s", patterns == null ? 0 : patterns.size(), toStringShort());
+    Finder finder = new Finder(getScreen().capture(this), this);
+    try {
+      return finder.findBatch(patterns);
+    } finally {
+      finder.destroy();
+    }
+  }
+
   public <PSI> List<Match> getAll(PSI target) {
     return findAllList(target);
   }
@@ -2598,19 +2616,32 @@ public class Region extends Element {
 
   public Match findBestList(List<Object> pList) {
     Debug.log(logLevel, "findBest: enter");
-    return findBestListDo(0, pList);
+    return findBestListDo(0, pList, 0);
+  }
+
+  /**
+   * find the best match of the given targets, but stop searching,
+   * as soon as a match with at least the given score is found
+   *
+   * @param pList       list of Pattern, String or Image
+   * @param enoughScore the score that is good enough (0 ... 1)
+   * @return the best match found or null
+   */
+  public Match findBestList(List<Object> pList, double enoughScore) {
+    Debug.log(logLevel, "findBest: enter (enough: %.2f)", enoughScore);
+    return findBestListDo(0, pList, enoughScore);
   }
 
   public Match waitBestList(double time, List<Object> pList) {
     Debug.log(logLevel, "waitBest: enter");
-    return findBestListDo(time, pList);
+    return findBestListDo(time, pList, 0);
   }
 
-  private Match findBestListDo(double time, List<Object> pList) {
+  private Match findBestListDo(double time, List<Object> pList, double enoughScore) {
     if (pList == null || pList.size() == 0) {
       return null;
     }
-    List<Match> mList = findAnyCollect(time, pList);
+    List<Match> mList = findAnyCollect(time, pList, enoughScore);
     if (mList.size() > 1) {
       Collections.sort(mList, (m1, m2) -> {
         double ms = m2.getScore() - m1.getScore();
@@ -2783,14 +2814,18 @@ public class Region extends Element {
     if (repeating != null && repeating._finder != null) {
       finder = repeating._finder;
       simg = getScreen().capture(this);
-      finder.setScreenImage(simg);
       finder.setRepeating();
       if (Settings.FindProfiling) {
         Debug.logp("[FindProfiling] Region.doFind repeat: %d msec",
             new Date().getTime() - lastSearchTimeRepeat);
       }
       lastSearchTime = (new Date()).getTime();
-      finder.findRepeat();
+      if (Settings.WaitChangedOnly) {
+        finder.findRepeatChanged(simg);
+      } else {
+        finder.setScreenImage(simg);
+        finder.findRepeat();
+      }
     } else {
       //screen = getScreen();
       lastFindTime = (new Date()).getTime();
@@ -2899,6 +2934,14 @@ public class Region extends Element {
           }
         }
 
+        // the same pixels give the same score - but not with a mask (not in the last seen info)
+        float resize = ptn == null ? 0 : ptn.getResize();
+        long seenHash = img.hashLastSeen(base);
+        if ((ptn == null || !ptn.hasMask()) && img.isLastSeenUnchanged(seenHash, resize)) {
+          log(logLevel, "checkLastSeen: still there (unchanged)");
+          f.setFound(ptn, img, img.getLastSeenScore());
+          return f;
+        }
         if (ptn == null) {
           f.find(new Pattern(img).similar(score));
         } else {
@@ -2906,9 +2949,18 @@ public class Region extends Element {
         }
         if (f.hasNext()) {
           log(logLevel, "checkLastSeen: still there");
+          // the pixels are remembered for the next check (not with a mask: the score depends on it)
+          double seenScore = f.next().getScore();
+          if (ptn != null && ptn.hasMask()) {
+            img.setLastSeen(r.getRect(), seenScore);
+          } else {
+            img.setLastSeen(r.getRect(), seenScore, seenHash, resize);
+          }
+          f.setFound(ptn, img, seenScore);
           return f;
         }
         log(logLevel, "checkLastSeen: not there");
+        f.destroy();
       }
     }
     return new Finder(base, this);
@@ -3118,122 +3170,101 @@ public class Region extends Element {
   //</editor-fold>
 
   //<editor-fold defaultstate="collapsed" desc="023 Find internal support">
-  private class SubFindRun implements Runnable {
-
-    Match[] mArray;
-    RepeatableFind[] rfArray;
-    ScreenImage base;
-    Object target;
-    Region reg;
-    double waitTime;
-    boolean finished = false;
-    int subN;
-
-    public SubFindRun(double pTime, Match[] pMArray, RepeatableFind[] pRfArray, int pSubN,
-                      ScreenImage pBase, Object pTarget, Region pReg) {
-      subN = pSubN;
-      base = pBase;
-      target = pTarget;
-      reg = pReg;
-      mArray = pMArray;
-      rfArray = pRfArray;
-      waitTime = pTime;
-    }
+  private List<Match> findAnyCollect(double time, List<Object> pList) {
+    return findAnyCollect(time, pList, 0);
+  }
 
-    @Override
-    public void run() {
-      if (waitTime > 0) {
-        rfArray[subN] = reg.existsStoppableInit(target);
-        mArray[subN] = reg.doExists(rfArray[subN], waitTime);
-      } else {
-        try {
-          mArray[subN] = reg.findInImage(base, target);
-        } catch (Exception ex) {
-          log(-1, "findAnyCollect: image file not found:\n", target);
+  /**
+   * all targets are searched in parallel (Finder.getFindPool()) in the same capture,
+   * which is repeated with the WaitScanRate until at least one target is found or the time is over
+   */
+  private List<Match> findAnyCollect(double time, List<Object> pList, double enoughScore) {
+    List<Match> mList = new ArrayList<Match>();
+    if (pList == null) {
+      return mList;
+    }
+    int maxTimePerScan = (int) (1000.0 / waitScanRate);
+    long end = new Date().getTime() + (long) (time * 1000);
+    while (true) {
+      long before = new Date().getTime();
+      ScreenImage base = getScreen().capture(this);
+      Match[] mArray = findAnyInImage(base, pList, enoughScore);
+      int nobj = 0;
+      for (Match match : mArray) {
+        if (match != null) {
+          match.setIndex(nobj);
+          mList.add(match);
         }
+        nobj++;
       }
-      hasFinished(true);
-    }
-
-    public boolean hasFinished() {
-      return hasFinished(false);
-    }
-
-    public synchronized boolean hasFinished(boolean state) {
-      if (state) {
-        finished = true;
+      long after = new Date().getTime();
+      if (mList.size() > 0 || time <= 0 || after >= end) {
+        break;
       }
-      return finished;
-    }
-
-    public void shouldStop() {
-      if (!hasFinished()) {
-        rfArray[subN].setShouldStop();
+      try {
+        Thread.sleep(Math.max(10, Math.min(maxTimePerScan - (after - before), end - after)));
+      } catch (InterruptedException e) {
+        break;
       }
     }
+    Debug.log(logLevel, "findAnyCollect: %d of %d found", mList.size(), pList.size());
+    return mList;
   }
 
-  private List<Match> findAnyCollect(double time, List<Object> pList) {
-    List<Match> mList = new ArrayList<Match>();
-    if (pList == null) {
-      return mList;
-    }
+  /**
+   * the results are taken in completion order: as soon as a match has the enoughScore,
+   * the searches not yet started are skipped (stop flag) and the running ones are not waited for
+   */
+  private Match[] findAnyInImage(ScreenImage base, List<Object> pList, double enoughScore) {
     Match[] mArray = new Match[pList.size()];
-    RepeatableFind[] rfArray = new RepeatableFind[pList.size()];
-    SubFindRun[] theSubs = new SubFindRun[pList.size()];
-    int nobj = 0;
-    ScreenImage base = getScreen().capture(this);
-    for (Object obj : pList) {
-      mArray[nobj] = null;
-
+    AtomicBoolean stop = new AtomicBoolean(false);
+    CompletionService<Match> completion = new ExecutorCompletionService<>(Finder.getFindPool());
+    Map<Future<Match>, Integer> tasks = new HashMap<>();
+    for (int nobj = 0; nobj < pList.size(); nobj++) {
+      Object obj = pList.get(nobj);
       if (obj instanceof Pattern || obj instanceof String || obj instanceof Image) {
-        theSubs[nobj] = new SubFindRun(time, mArray, rfArray, nobj, base, obj, this);
-        new Thread(theSubs[nobj]).start();
-      }
-      nobj++;
-    }
-    Debug.log(logLevel, "findAnyCollect: waiting for SubFindRuns");
-    if (time > 0) {
-      boolean any = false;
-      while (!any) {
-        any = false;
-        for (SubFindRun sub : theSubs) {
-          if (sub.hasFinished()) {
-            any = true;
-            break;
+        tasks.put(completion.submit(() -> {
+          try {
+            return findInImage(base, obj, stop);
+          } catch (IOException ex) {
+            log(-1, "findAnyCollect: image file not found:\n%s", obj);
+          } catch (RuntimeException ex) {
+            log(-1, "findAnyCollect: %s: %s", obj, ex.getMessage());
           }
-        }
-      }
-      for (SubFindRun sub : theSubs) {
-        sub.shouldStop();
-      }
-    } else {
-      boolean all = false;
-      while (!all) {
-        all = true;
-        for (SubFindRun sub : theSubs) {
-          all &= sub.hasFinished();
-        }
+          return null;
+        }), nobj);
       }
     }
-    if (time > 0)
-      Debug.log(logLevel, "waitAnyCollect: first SubFindRun finished");
-    else {
-      Debug.log(logLevel, "findAnyCollect: all SubFindRuns finished");
-    }
-    nobj = 0;
-    for (Match match : mArray) {
-      if (match != null) {
-        match.setIndex(nobj);
-        mList.add(match);
-      } else {
+    for (int done = 0; done < tasks.size(); done++) {
+      Future<Match> task;
+      Match match;
+      try {
+        task = completion.take();
+        match = task.get();
+      } catch (InterruptedException ex) {
+        stop.set(true);
+        Thread.currentThread().interrupt();
+        break;
+      } catch (ExecutionException ex) {
+        log(-1, "findAnyCollect: %s", ex.getCause());
+        continue;
+      }
+      int nobj = tasks.get(task);
+      mArray[nobj] = match;
+      if (enoughScore > 0 && match != null && match.getScore() >= enoughScore) {
+        Debug.log(logLevel, "findAnyCollect: enough: %.2f (%s)", match.getScore(), pList.get(nobj));
+        stop.set(true);
+        break;
       }
-      nobj++;
     }
-    return mList;
+    return mArray;
   }
 
-  private Match findInImage(ScreenImage base, Object target) throws IOException {
+  // stop: no matching is started (anymore), if set (the last seen check is still done)
+  private Match findInImage(ScreenImage base, Object target, AtomicBoolean stop) throws IOException {
+    if (stop.get()) {
+      return null;
+    }
     Finder finder = null;
     Match match = null;
     boolean findingText = false;
@@ -3245,7 +3276,7 @@ public class Region extends Element {
         img = Image.create((String) target);
         if (img.isValid()) {
           finder = doCheckLastSeenAndCreateFinder(base, img, 0.0, null);
-          if (!finder.hasNext()) {
+          if (!finder.hasNext() && !stop.get()) {
             runFinder(finder, img);
           }
         } else if (img.isText()) {
@@ -3256,14 +3287,14 @@ public class Region extends Element {
       }
       if (findingText) {
         log(logLevel, "findInImage: Switching to TextSearch");
-        finder = new Finder(getScreen().capture(x, y, w, h), this);
+        finder = new Finder(base, this);
         finder.findText((String) target);
       }
     } else if (target instanceof Pattern) {
       if (((Pattern) target).isValid()) {
         img = ((Pattern) target).getImage();
         finder = doCheckLastSeenAndCreateFinder(base, img, 0.0, (Pattern) target);
-        if (!finder.hasNext()) {
+        if (!finder.hasNext() && !stop.get()) {
           runFinder(finder, target);
         }
       } else {
@@ -3273,7 +3304,7 @@ public class Region extends Element {
       if (((Image) target).isValid()) {
         img = ((Image) target);
         finder = doCheckLastSeenAndCreateFinder(base, img, 0.0, null);
-        if (!finder.hasNext()) {
+        if (!finder.hasNext() && !stop.get()) {
           runFinder(finder, img);
         }
       } else {
@@ -3283,10 +3314,23 @@ public class Region extends Element {
       log(-1, "findInImage: invalid parameter: %s", target);
       return null;
     }
-    if (finder.hasNext()) {
-      match = finder.next();
-      //match.setImage(img);
-      img.setLastSeen(match.getRect(), match.getScore());
+    try {
+      if (finder.hasNext()) {
+        match = finder.next();
+        //match.setImage(img);
+        if (!finder.isFoundLastSeen()) {
+          // else already set by the last seen check
+          if (target instanceof Pattern && ((Pattern) target).hasMask()) {
+            // no pixel hash: the score depends on the mask
+            img.setLastSeen(match.getRect(), match.getScore());
+          } else {
+            img.setLastSeen(match.getRect(), match.getScore(), base,
+                target instanceof Pattern ? ((Pattern) target).getResize() : 0);
+          }
+        }
+      }
+    } finally {
+      finder.destroy();
     }
     return match;
   }
@@ -3725,36 +3769,15 @@ public class Region extends Element {
   }
 
   private boolean observeDo(double secs) {
-    if (regionObserver == null) {
-      Debug.error("Region: observe: Nothing to observe (Region might be invalid): " + this.toStringShort());
+    if (!observeStart(secs)) {
       return false;
     }
-    if (observing) {
-      if (!observingInBackground) {
-        Debug.error("Region: observe: already running for this region. Only one allowed!");
-        return false;
-      }
-    }
-    log(logLevel, "observe: starting in " + this.toStringShort() + " for " + secs + " seconds");
     int MaxTimePerScan = (int) (1000.0 / observeScanRate);
-    long begin_t = (new Date()).getTime();
-    long stop_t;
-    if (secs > Long.MAX_VALUE) {
-      stop_t = Long.MAX_VALUE;
-    } else {
-      stop_t = begin_t + (long) (secs * 1000);
-    }
-    regionObserver.initialize();
-    observing = true;
-    Observing.addRunningObserver(this);
+    long stop_t = getObserveStopTime(secs);
     while (observing && stop_t > (new Date()).getTime()) {
       long before_find = (new Date()).getTime();
       ScreenImage simg = getScreen().capture(x, y, w, h);
-      if (!regionObserver.update(simg)) {
-        observing = false;
-        break;
-      }
-      if (!observing) {
+      if (!observeUpdate(simg)) {
         break;
       }
       long after_find = (new Date()).getTime();
@@ -3765,6 +3788,61 @@ public class Region extends Element {
       } catch (Exception e) {
       }
     }
+    return observeEnd(secs);
+  }
+
+  /**
+   * INTERNAL USE: Observe - prepare the observer and mark the region as observing
+   *
+   * @param secs time in seconds the observer should run
+   * @return false if not possible
+   */
+  public boolean observeStart(double secs) {
+    if (regionObserver == null) {
+      Debug.error("Region: observe: Nothing to observe (Region might be invalid): " + this.toStringShort());
+      return false;
+    }
+    if (observing) {
+      if (!observingInBackground) {
+        Debug.error("Region: observe: already running for this region. Only one allowed!");
+        return false;
+      }
+    }
+    log(logLevel, "observe: starting in " + this.toStringShort() + " for " + secs + " seconds");
+    regionObserver.initialize();
+    observing = true;
+    Observing.addRunningObserver(this);
+    return true;
+  }
+
+  private static long getObserveStopTime(double secs) {
+    long begin_t = (new Date()).getTime();
+    if (secs > Long.MAX_VALUE) {
+      return Long.MAX_VALUE;
+    }
+    return begin_t + (long) (secs * 1000);
+  }
+
+  /**
+   * INTERNAL USE: Observe - check the events in the given image of the region
+   *
+   * @param simg the image of the region
+   * @return false if the observer should stop
+   */
+  public boolean observeUpdate(ScreenImage simg) {
+    if (!regionObserver.update(simg)) {
+      observing = false;
+    }
+    return observing;
+  }
+
+  /**
+   * INTERNAL USE: Observe - the observer has stopped (timeout or ended)
+   *
+   * @param secs time in seconds the observer should run
+   * @return true if events have happened
+   */
+  public boolean observeEnd(double secs) {
     boolean observeSuccess = false;
     if (observing) {
       observing = false;
@@ -3791,8 +3869,16 @@ public class Region extends Element {
     }
     observing = true;
     observingInBackground = true;
-    Thread observeThread = new Thread(new ObserverThread(secs));
-    observeThread.start();
+    if (Settings.ObserveSharedCapture) {
+      if (!ObserveScheduler.add(this, secs)) {
+        observing = false;
+        observingInBackground = false;
+        return false;
+      }
+    } else {
+      Thread observeThread = new Thread(new ObserverThread(secs));
+      observeThread.start();
+    }
     log(logLevel, "observeInBackground now running");
     return true;
   }
@@ -62,6 +62,16 @@ public class Screen extends Region implements IScreen, EventObserver {
       return;
     }
     log(logLevel, "initScreens: starting");
+    StartupProfiler.Phase phase = StartupProfiler.start("Screen.initScreens");
+    try {
+      doInitScreens();
+    } finally {
+      phase.end();
+    }
+    log(logLevel, "initScreens: ending");
+  }
+
+  private static void doInitScreens() {
     if (!ScreenDevice.isHeadless()) {
       Devices.start(Devices.TYPE.SCREEN);
       nMonitors = ScreenDevice.numDevices();
@@ -75,7 +85,6 @@ public class Screen extends Region implements IScreen, EventObserver {
       throw new SikuliXception(String.format("SikuliX: Init: running in headless environment"));
     }
     getGlobalRobot();
-    log(logLevel, "initScreens: ending");
   }
 
   public static void resetScreens() {
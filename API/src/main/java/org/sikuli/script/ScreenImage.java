@@ -7,6 +7,7 @@ import org.apache.commons.io.FilenameUtils;
 import org.sikuli.basics.Settings;
 import org.sikuli.support.FileManager;
 import org.opencv.core.Core;
+import org.opencv.core.CvType;
 import org.opencv.core.Mat;
 import org.opencv.imgproc.Imgproc;
 import org.sikuli.basics.Debug;
@@ -254,8 +255,12 @@ public class ScreenImage {
     Mat otherGray = new Mat();
     Mat mDiffAbs = new Mat();
 
-    Imgproc.cvtColor(Commons.makeMat(this.getImage()), thisGray, Imgproc.COLOR_BGR2GRAY);
-    Imgproc.cvtColor(Commons.makeMat(((ScreenImage) other).getImage()), otherGray, Imgproc.COLOR_BGR2GRAY);
+    Mat thisMat = Commons.makeMat(this.getImage());
+    Mat otherMat = Commons.makeMat(((ScreenImage) other).getImage());
+    Imgproc.cvtColor(thisMat, thisGray, Imgproc.COLOR_BGR2GRAY);
+    Imgproc.cvtColor(otherMat, otherGray, Imgproc.COLOR_BGR2GRAY);
+    Commons.releaseMat(thisMat);
+    Commons.releaseMat(otherMat);
     Core.absdiff(thisGray, otherGray, mDiffAbs);
     return Core.countNonZero(mDiffAbs) == 0;
   }
@@ -267,15 +272,60 @@ public class ScreenImage {
 		return (double) diffPixel(scrImg) / (w * h);
 	}
 
+	/**
+	 * as diffPercentage(scrImg), but only the blocks, whose hashes differ, are compared pixel by pixel
+	 * (nothing at all, if all hashes are equal)
+	 *
+	 * @param scrImg      the other image
+	 * @param hashes      the block hashes of this image (Finder.hashChangeBlocks)
+	 * @param otherHashes the block hashes of the other image
+	 * @return the fraction of pixels with a different color
+	 */
+	public double diffPercentage(ScreenImage scrImg, long[] hashes, long[] otherHashes) {
+		if (scrImg == null || this.w != scrImg.w || this.h != scrImg.h || hashes.length != otherHashes.length) {
+			return 1;
+		}
+		int block = Finder.Finder2.CHANGE_BLOCK;
+		int cols = (w + block - 1) / block;
+		int[] thisRow = new int[block];
+		int[] otherRow = new int[block];
+		long diff = 0;
+		for (int n = 0; n < hashes.length; n++) {
+			if (hashes[n] == otherHashes[n]) {
+				continue;
+			}
+			int bx = (n % cols) * block;
+			int by = (n / cols) * block;
+			int bw = Math.min(block, w - bx);
+			for (int y = by; y < Math.min(by + block, h); y++) {
+				bimg.getRGB(bx, y, bw, 1, thisRow, 0, bw);
+				scrImg.bimg.getRGB(bx, y, bw, 1, otherRow, 0, bw);
+				for (int i = 0; i < bw; i++) {
+					if (thisRow[i] != otherRow[i]) {
+						diff++;
+					}
+				}
+			}
+		}
+		return (double) diff / (w * h);
+	}
+
 	private int diffPixel(ScreenImage scrImg) {
-		Mat thisGray = new Mat();
-		Mat otherGray = new Mat();
-		Mat mDiffAbs = new Mat();
+		Mat thisGray = Commons.takeMat(h, w, CvType.CV_8UC1);
+		Mat otherGray = Commons.takeMat(h, w, CvType.CV_8UC1);
+		Mat mDiffAbs = Commons.takeMat(h, w, CvType.CV_8UC1);
 
-		Imgproc.cvtColor(Commons.makeMat(this.getImage()), thisGray, Imgproc.COLOR_BGR2GRAY);
-		Imgproc.cvtColor(Commons.makeMat(scrImg.getImage()), otherGray, Imgproc.COLOR_BGR2GRAY);
+		Mat thisMat = Commons.makeMat(this.getImage());
+		Mat otherMat = Commons.makeMat(scrImg.getImage());
+		Imgproc.cvtColor(thisMat, thisGray, Imgproc.COLOR_BGR2GRAY);
+		Imgproc.cvtColor(otherMat, otherGray, Imgproc.COLOR_BGR2GRAY);
+		Commons.releaseMat(thisMat);
+		Commons.releaseMat(otherMat);
 		Core.absdiff(thisGray, otherGray, mDiffAbs);
 		final int countNonZero = Core.countNonZero(mDiffAbs);
+		Commons.releaseMat(thisGray);
+		Commons.releaseMat(otherGray);
+		Commons.releaseMat(mDiffAbs);
 		return countNonZero;
 	}
 
@@ -3,7 +3,8 @@
  */
 package org.sikuli.script;
 
-import net.sourceforge.tess4j.ITesseract;
+import com.sun.jna.Pointer;
+import net.sourceforge.tess4j.ITessAPI;
 import net.sourceforge.tess4j.Tesseract1;
 import net.sourceforge.tess4j.TesseractException;
 import net.sourceforge.tess4j.Word;
@@ -15,14 +16,15 @@ import org.sikuli.basics.Debug;
 import org.sikuli.basics.Settings;
 import org.sikuli.support.Commons;
 import org.sikuli.support.RunTime;
+import org.sikuli.support.StartupProfiler;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.io.IOException;
+import java.nio.IntBuffer;
 import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Intended to be used only internally - still public for being backward compatible
@@ -65,6 +67,35 @@ public class TextRecognizer {
    * @return a new TextRecognizer instance
    */
   protected static TextRecognizer get(OCR.Options options) {
+    synchronized (TextRecognizer.class) {
+      init();
+    }
+
+    Debug.log(lvl, "OCR: start: Tess4J %s using Tesseract %s", versionTess4J, versionTesseract);
+    if (options == null) {
+      options = OCR.globalOptions();
+    }
+    options.validate();
+
+    TextRecognizer textRecognizer = new TextRecognizer();
+    textRecognizer.options = options;
+
+    return textRecognizer;
+  }
+
+  private static void init() {
+    if (isValid && OCR.Options.defaultDataPath != null) {
+      return;
+    }
+    StartupProfiler.Phase phase = StartupProfiler.start("TextRecognizer.init");
+    try {
+      doInit();
+    } finally {
+      phase.end();
+    }
+  }
+
+  private static void doInit() {
     if (!isValid) {
       //TODO Tess4J: macOS: tesseract library load problem
       if (Commons.runningMac()) {
@@ -79,24 +110,12 @@ public class TextRecognizer {
       Commons.loadOpenCV();
       isValid = true;
     }
-
     initDefaultDataPath();
-
-    Debug.log(lvl, "OCR: start: Tess4J %s using Tesseract %s", versionTess4J, versionTesseract);
-    if (options == null) {
-      options = OCR.globalOptions();
-    }
-    options.validate();
-
-    TextRecognizer textRecognizer = new TextRecognizer();
-    textRecognizer.options = options;
-
-    return textRecognizer;
   }
 
-  private ITesseract getTesseractAPI() {
+  private TesseractEngine createTesseractAPI(String key) {
     try {
-      ITesseract tesseract = new Tesseract1();
+      TesseractEngine tesseract = new TesseractEngine(key);
       tesseract.setOcrEngineMode(options.oem());
       tesseract.setPageSegMode(options.psm());
       tesseract.setLanguage(options.language());
@@ -107,6 +126,7 @@ public class TextRecognizer {
       if (!options.configs().isEmpty()) {
         tesseract.setConfigs(new ArrayList<>(options.configs()));
       }
+      tesseract.start();
       return tesseract;
     } catch (UnsatisfiedLinkError e) {
       //TODO open website on Error
@@ -150,6 +170,295 @@ public class TextRecognizer {
   }
   //</editor-fold>
 
+  //<editor-fold desc="01 engine pool">
+  /**
+   * A Tesseract engine, that is initialized once (language model, tessdata, variables)
+   * and then used for many recognitions (Tesseract1 would init and dispose with every call).
+   * <br>Only used by one thread at a time (checked out from the pool).
+   */
+  private static class TesseractEngine extends Tesseract1 {
+
+    private final String key;
+    private long lastUsed = 0;
+
+    private TesseractEngine(String key) {
+      this.key = key;
+    }
+
+    private void start() {
+      init();
+      setTessVariables();
+    }
+
+    private void stop() {
+      dispose();
+    }
+
+    private String read(BufferedImage bimg) throws TesseractException {
+      try {
+        setImage(bimg, null);
+        return getOCRText(null, 1);
+      } catch (IOException e) {
+        throw new TesseractException(e);
+      } finally {
+        TessBaseAPIClear(getHandle());
+      }
+    }
+
+    private List<Word> readItems(BufferedImage bimg, int level) {
+      List<Word> words = new ArrayList<>();
+      try {
+        setImage(bimg, null);
+        TessBaseAPIRecognize(getHandle(), null);
+        ITessAPI.TessResultIterator ri = TessBaseAPIGetIterator(getHandle());
+        ITessAPI.TessPageIterator pi = TessResultIteratorGetPageIterator(ri);
+        TessPageIteratorBegin(pi);
+        do {
+          Word word = getItem(ri, pi, level);
+          if (word != null) {
+            words.add(word);
+          }
+        } while (TessPageIteratorNext(pi, level) == ITessAPI.TRUE);
+        TessResultIteratorDelete(ri);
+      } catch (Exception e) {
+        Debug.error("OCR: readItems: Tess4J: %s", e.getMessage());
+      } finally {
+        TessBaseAPIClear(getHandle());
+      }
+      return words;
+    }
+
+    // lines and their words in one recognition pass
+    private List<Word> readLinesAndWords(BufferedImage bimg, List<List<Word>> wordsOfLines) {
+      List<Word> lines = new ArrayList<>();
+      int levelLine = OCR.PAGE_ITERATOR_LEVEL_LINE;
+      int levelWord = OCR.PAGE_ITERATOR_LEVEL_WORD;
+      try {
+        setImage(bimg, null);
+        TessBaseAPIRecognize(getHandle(), null);
+        ITessAPI.TessResultIterator ri = TessBaseAPIGetIterator(getHandle());
+        ITessAPI.TessPageIterator pi = TessResultIteratorGetPageIterator(ri);
+        TessPageIteratorBegin(pi);
+        do {
+          if (lines.isEmpty() || TessPageIteratorIsAtBeginningOf(pi, levelLine) == ITessAPI.TRUE) {
+            Word line = getItem(ri, pi, levelLine);
+            if (line == null) {
+              continue;
+            }
+            lines.add(line);
+            wordsOfLines.add(new ArrayList<>());
+          }
+          Word word = getItem(ri, pi, levelWord);
+          if (word != null) {
+            wordsOfLines.get(wordsOfLines.size() - 1).add(word);
+          }
+        } while (TessPageIteratorNext(pi, levelWord) == ITessAPI.TRUE);
+        TessResultIteratorDelete(ri);
+      } catch (Exception e) {
+        Debug.error("OCR: readLinesAndWords: Tess4J: %s", e.getMessage());
+      } finally {
+        TessBaseAPIClear(getHandle());
+      }
+      return lines;
+    }
+
+    private Word getItem(ITessAPI.TessResultIterator ri, ITessAPI.TessPageIterator pi, int level) {
+      Pointer ptr = TessResultIteratorGetUTF8Text(ri, level);
+      if (ptr == null) {
+        return null;
+      }
+      String text = ptr.getString(0);
+      TessDeleteText(ptr);
+      float confidence = TessResultIteratorConfidence(ri, level);
+      IntBuffer left = IntBuffer.allocate(1);
+      IntBuffer top = IntBuffer.allocate(1);
+      IntBuffer right = IntBuffer.allocate(1);
+      IntBuffer bottom = IntBuffer.allocate(1);
+      TessPageIteratorBoundingBox(pi, level, left, top, right, bottom);
+      return new Word(text, confidence, new Rectangle(left.get(0), top.get(0),
+          right.get(0) - left.get(0), bottom.get(0) - top.get(0)));
+    }
+  }
+
+  private static final Map<String, Deque<TesseractEngine>> enginePool = new HashMap<>();
+
+  private String getEngineKey() {
+    return String.format("%d|%d|%s|%s|%s|%s", options.oem(), options.psm(), options.language(),
+        options.dataPath(), options.variables(), options.configs());
+  }
+
+  private TesseractEngine checkoutEngine() {
+    String key = getEngineKey();
+    TesseractEngine engine = null;
+    synchronized (enginePool) {
+      evictIdleEngines();
+      Deque<TesseractEngine> engines = enginePool.get(key);
+      if (engines != null) {
+        engine = engines.pollFirst();
+      }
+    }
+    if (engine == null) {
+      Debug.log(lvl, "OCR: new Tesseract engine: %s", key);
+      engine = createTesseractAPI(key);
+    }
+    return engine;
+  }
+
+  private static void checkinEngine(TesseractEngine engine) {
+    synchronized (enginePool) {
+      Deque<TesseractEngine> engines = enginePool.computeIfAbsent(engine.key, k -> new ArrayDeque<>());
+      if (engines.size() < Settings.OcrEnginePoolSize) {
+        engine.lastUsed = new Date().getTime();
+        engines.offerFirst(engine);
+        engine = null;
+      }
+      evictIdleEngines();
+    }
+    if (engine != null) {
+      engine.stop();
+    }
+  }
+
+  private static void evictIdleEngines() {
+    long limit = new Date().getTime() - (long) (Settings.OcrEngineIdleTime * 1000);
+    Iterator<Deque<TesseractEngine>> pools = enginePool.values().iterator();
+    while (pools.hasNext()) {
+      Deque<TesseractEngine> engines = pools.next();
+      while (!engines.isEmpty() && engines.peekLast().lastUsed < limit) {
+        engines.pollLast().stop();
+      }
+      if (engines.isEmpty()) {
+        pools.remove();
+      }
+    }
+  }
+
+  /**
+   * INTERNAL: dispose all currently idle Tesseract engines
+   */
+  protected static void disposeEngines() {
+    synchronized (enginePool) {
+      for (Deque<TesseractEngine> engines : enginePool.values()) {
+        for (TesseractEngine engine : engines) {
+          engine.stop();
+        }
+      }
+      enginePool.clear();
+    }
+  }
+  //</editor-fold>
+
+  //<editor-fold desc="02 result cache">
+  /**
+   * A cached OCR result (text or text items), the key contains the pixels' hash
+   * and everything of the Options, that has an effect on the result.
+   */
+  private static class OcrResult {
+    private String text = null;
+    private List<Match> items = null;
+    private List<List<Match>> words = null;
+    private long bytes = 64;
+  }
+
+  private static final Map<String, OcrResult> resultCache = new LinkedHashMap<>(16, 0.75f, true);
+  private static long resultCacheBytes = 0;
+  private static long cacheHits = 0;
+  private static long cacheMisses = 0;
+  private static long cacheEvictions = 0;
+
+  private static boolean isCaching() {
+    return Settings.OcrCacheSize > 0;
+  }
+
+  private String getResultKey(String kind, BufferedImage bimg) {
+    if (!isCaching()) {
+      return null;
+    }
+    return String.format("%s|%s|%.3f|%s|%s|%dx%d|%016x", kind, getEngineKey(), options.factor(),
+        options.resizeInterpolation(), options.isLightFont(), bimg.getWidth(), bimg.getHeight(),
+        Commons.hashPixels(bimg, new Rectangle(0, 0, bimg.getWidth(), bimg.getHeight())));
+  }
+
+  private static synchronized OcrResult cacheGet(String key) {
+    if (key == null) {
+      return null;
+    }
+    OcrResult result = resultCache.get(key);
+    if (result == null) {
+      cacheMisses++;
+    } else {
+      cacheHits++;
+    }
+    return result;
+  }
+
+  private static synchronized void cachePut(String key, OcrResult result) {
+    if (key == null) {
+      return;
+    }
+    if (result.text != null) {
+      result.bytes += 2L * result.text.length();
+    }
+    if (result.items != null) {
+      result.bytes += matchesBytes(result.items);
+    }
+    if (result.words != null) {
+      for (List<Match> words : result.words) {
+        result.bytes += matchesBytes(words);
+      }
+    }
+    OcrResult previous = resultCache.put(key, result);
+    if (previous != null) {
+      resultCacheBytes -= previous.bytes;
+    }
+    resultCacheBytes += result.bytes;
+    long maxBytes = (long) Settings.OcrCacheSize * 1024 * 1024;
+    Iterator<OcrResult> oldest = resultCache.values().iterator();
+    while (resultCacheBytes > maxBytes && oldest.hasNext()) {
+      resultCacheBytes -= oldest.next().bytes;
+      oldest.remove();
+      cacheEvictions++;
+    }
+  }
+
+  private static long matchesBytes(List<Match> matches) {
+    long bytes = 0;
+    for (Match match : matches) {
+      bytes += 160 + 2L * match.getText().length();
+    }
+    return bytes;
+  }
+
+  // the cached matches are never given away (might be changed by the caller)
+  private static List<Match> copyMatches(List<Match> matches) {
+    List<Match> copies = new ArrayList<>();
+    for (Match match : matches) {
+      copies.add(new Match(match.getRect(), match.getScore() * 100, match.getText()));
+    }
+    return copies;
+  }
+
+  /**
+   * INTERNAL: the current state of the OCR result cache
+   *
+   * @return {entries, used bytes, hits, misses, evictions}
+   */
+  protected static synchronized long[] getCacheStatistics() {
+    return new long[]{resultCache.size(), resultCacheBytes, cacheHits, cacheMisses, cacheEvictions};
+  }
+
+  /**
+   * INTERNAL: remove all cached OCR results and reset the counters
+   */
+  protected static synchronized void clearCache() {
+    resultCache.clear();
+    resultCacheBytes = 0;
+    cacheHits = 0;
+    cacheMisses = 0;
+    cacheEvictions = 0;
+  }
+  //</editor-fold>
+
   //<editor-fold desc="02 set OEM, PSM">
 
   /**
@@ -315,6 +624,7 @@ public class TextRecognizer {
 //    }
 
     BufferedImage optImg = Commons.getBufferedImage(mimg);
+    Commons.releaseMat(mimg);
     return optImg;
   }
 
@@ -343,6 +653,54 @@ public class TextRecognizer {
     BufferedImage bimg = Element.getBufferedImage(from);
     return readTextItems(bimg, OCR.PAGE_ITERATOR_LEVEL_WORD);
   }
+
+  /**
+   * the lines and the words of each line in one OCR pass
+   *
+   * @param from         source to read text from
+   * @param wordsOfLines gets the words for each of the returned lines (same order)
+   * @param <SFIRBS>     File name, File, Image, Region, BufferdImage or ScreenImage
+   * @return lines
+   */
+  protected <SFIRBS> List<Match> readLinesWithWords(SFIRBS from, List<List<Match>> wordsOfLines) {
+    List<Match> lines = new ArrayList<>();
+    BufferedImage bimg = Element.getBufferedImage(from);
+    String key = getResultKey("lineswords", bimg);
+    OcrResult cached = cacheGet(key);
+    if (cached != null) {
+      for (List<Match> words : cached.words) {
+        wordsOfLines.add(copyMatches(words));
+      }
+      return copyMatches(cached.items);
+    }
+    BufferedImage bimgResized = optimize(bimg);
+    List<Word> textLines;
+    List<List<Word>> textWords = new ArrayList<>();
+    TesseractEngine engine = checkoutEngine();
+    try {
+      textLines = engine.readLinesAndWords(bimgResized, textWords);
+    } finally {
+      checkinEngine(engine);
+    }
+    double wFactor = (double) bimg.getWidth() / bimgResized.getWidth();
+    double hFactor = (double) bimg.getHeight() / bimgResized.getHeight();
+    for (int n = 0; n < textLines.size(); n++) {
+      lines.add(makeTextMatch(textLines.get(n), wFactor, hFactor));
+      List<Match> words = new ArrayList<>();
+      for (Word textWord : textWords.get(n)) {
+        words.add(makeTextMatch(textWord, wFactor, hFactor));
+      }
+      wordsOfLines.add(words);
+    }
+    OcrResult result = new OcrResult();
+    result.items = copyMatches(lines);
+    result.words = new ArrayList<>();
+    for (List<Match> words : wordsOfLines) {
+      result.words.add(copyMatches(words));
+    }
+    cachePut(key, result);
+    return lines;
+  }
   //</editor-fold>
 
   //<editor-fold desc="30 helper">
@@ -371,33 +729,63 @@ public class TextRecognizer {
   protected <SFIRBS> String doRead(SFIRBS from) {
     String text = "";
     BufferedImage bimg = Element.getBufferedImage(from);
+    String key = getResultKey("text", bimg);
+    OcrResult cached = cacheGet(key);
+    if (cached != null) {
+      return cached.text;
+    }
+    BufferedImage bimgOptimized = optimize(bimg);
+    TesseractEngine engine = checkoutEngine();
     try {
-      text = getTesseractAPI().doOCR(optimize(bimg)).trim().replace("\n\n", "\n");
+      text = engine.read(bimgOptimized).trim().replace("\n\n", "\n");
     } catch (TesseractException e) {
       Debug.error("OCR: read: Tess4J: doOCR: %s", e.getMessage());
       return "";
+    } finally {
+      checkinEngine(engine);
     }
+    OcrResult result = new OcrResult();
+    result.text = text;
+    cachePut(key, result);
     return text;
   }
 
   protected <SFIRBS> List<Match> readTextItems(SFIRBS from, int level) {
     List<Match> lines = new ArrayList<>();
     BufferedImage bimg = Element.getBufferedImage(from);
+    String key = getResultKey("items" + level, bimg);
+    OcrResult cached = cacheGet(key);
+    if (cached != null) {
+      return copyMatches(cached.items);
+    }
     BufferedImage bimgResized = optimize(bimg);
-    List<Word> textItems = getTesseractAPI().getWords(bimgResized, level);
+    List<Word> textItems;
+    TesseractEngine engine = checkoutEngine();
+    try {
+      textItems = engine.readItems(bimgResized, level);
+    } finally {
+      checkinEngine(engine);
+    }
     double wFactor = (double) bimg.getWidth() / bimgResized.getWidth();
     double hFactor = (double) bimg.getHeight() / bimgResized.getHeight();
     for (Word textItem : textItems) {
-      Rectangle boundingBox = textItem.getBoundingBox();
-      Rectangle realBox = new Rectangle(
-              (int) (boundingBox.x * wFactor) - 1,
-              (int) (boundingBox.y * hFactor) - 1,
-              1 + (int) (boundingBox.width * wFactor) + 2,
-              1 + (int) (boundingBox.height * hFactor) + 2);
-      lines.add(new Match(realBox, textItem.getConfidence(), textItem.getText().trim()));
+      lines.add(makeTextMatch(textItem, wFactor, hFactor));
     }
+    OcrResult result = new OcrResult();
+    result.items = copyMatches(lines);
+    cachePut(key, result);
     return lines;
   }
+
+  private Match makeTextMatch(Word textItem, double wFactor, double hFactor) {
+    Rectangle boundingBox = textItem.getBoundingBox();
+    Rectangle realBox = new Rectangle(
+            (int) (boundingBox.x * wFactor) - 1,
+            (int) (boundingBox.y * hFactor) - 1,
+            1 + (int) (boundingBox.width * wFactor) + 2,
+            1 + (int) (boundingBox.height * hFactor) + 2);
+    return new Match(realBox, textItem.getConfidence(), textItem.getText().trim());
+  }
   //</editor-fold>
 
   //<editor-fold desc="99 obsolete">
@@ -11,6 +11,7 @@ import org.opencv.core.*;
 import org.opencv.imgcodecs.Imgcodecs;
 import org.opencv.imgproc.Imgproc;
 import org.sikuli.basics.Debug;
+import org.sikuli.basics.Settings;
 import org.sikuli.script.*;
 import org.sikuli.util.CommandArgs;
 import org.sikuli.util.CommandArgsEnum;
@@ -22,15 +23,18 @@ import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferByte;
 import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
 import java.io.*;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.*;
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.security.CodeSource;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.regex.Matcher;
@@ -71,6 +75,12 @@ public class Commons {
       }
       isRunning.delete();
     }
+    if (StartupProfiler.shouldReportAtExit()) {
+      System.out.println("[SXINFO] ***** startup phases *****");
+      for (String phase : StartupProfiler.getReport()) {
+        System.out.println("[SXINFO] " + phase);
+      }
+    }
   }
 
   public static void setIsRunning(File token, FileOutputStream tokenStream) {
@@ -80,6 +90,7 @@ public class Commons {
 
   static {
     startMoment = new Date().getTime();
+    StartupProfiler.Phase phase = StartupProfiler.start("Commons");
 
     if (!System.getProperty("os.arch").contains("64")) {
       throw new SikuliXception("SikuliX fatal Error: System must be 64-Bit");
@@ -131,6 +142,7 @@ public class Commons {
         runShutdownHook();
       }
     });
+    phase.end();
   }
 
   public static void init() {
@@ -1156,6 +1168,15 @@ public class Commons {
   }
 
   private static boolean doLoadLib(Class classRef, String resPath, String fileName) {
+    StartupProfiler.Phase phase = StartupProfiler.start("Commons.loadLib: " + fileName);
+    try {
+      return doLoadLibPhase(classRef, resPath, fileName);
+    } finally {
+      phase.end();
+    }
+  }
+
+  private static boolean doLoadLibPhase(Class classRef, String resPath, String fileName) {
     File fLibsFolder = Commons.getLibsFolder();
     if (fLibsFolder.exists()) {
       if (!Commons.hasVersionFile(fLibsFolder)) {
@@ -1170,10 +1191,8 @@ public class Commons {
       makeVersionFile(fLibsFolder);
     }
     File libFile = new File(fLibsFolder, fileName);
-    try (FileOutputStream outFile = new FileOutputStream(libFile);
-         InputStream inStream = classRef.getResourceAsStream(resPath + fileName)) {
-      copy(inStream, outFile);
-    } catch (Exception ex) {
+    URL libResource = classRef.getResource(resPath + fileName);
+    if (libResource == null || !extractResource(libResource, libFile)) {
       RunTime.terminate(999, "Commons.loadLib: %s: export failed", fileName);
     }
     try {
@@ -1184,6 +1203,101 @@ public class Commons {
     return true;
   }
 
+  private static final String EXTRACTED_MANIFEST = "SikulixExtracted.properties";
+  private static final Object extractLock = new Object();
+
+  /**
+   * INTERNAL: copies the resource to the file, if it is not already there<br>
+   * the resource (size and CRC from the jar) and the file written (size and time) are recorded
+   * in a manifest in the file's folder: the resource is only copied again, if one of them changed<br>
+   * the file is written to a temp file in the same folder, that is then renamed,
+   * so other processes never see a half written file
+   *
+   * @param resource the resource
+   * @param outFile  the file
+   * @return true if the file is there now
+   */
+  public static boolean extractResource(URL resource, File outFile) {
+    File folder = outFile.getAbsoluteFile().getParentFile();
+    String source = getResourceSignature(resource);
+    synchronized (extractLock) {
+      Properties manifest = new Properties();
+      File fManifest = new File(folder, EXTRACTED_MANIFEST);
+      if (fManifest.exists()) {
+        try (InputStream inStream = new FileInputStream(fManifest)) {
+          manifest.load(inStream);
+        } catch (Exception ex) {
+          debug("extractResource: manifest not readable: %s (%s)", fManifest, ex.getMessage());
+        }
+      }
+      if (source != null && outFile.exists() && getExtractedSignature(source, outFile).equals(
+          manifest.getProperty(outFile.getName()))) {
+        trace("extractResource: already there: %s", outFile);
+        return true;
+      }
+      folder.mkdirs();
+      File tmpFile = null;
+      try (InputStream inStream = resource.openStream()) {
+        tmpFile = File.createTempFile(outFile.getName() + "-", ".tmp", folder);
+        try (OutputStream outStream = new FileOutputStream(tmpFile)) {
+          copy(inStream, outStream);
+        }
+        Files.move(tmpFile.toPath(), outFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+      } catch (Exception ex) {
+        if (tmpFile != null) {
+          tmpFile.delete();
+        }
+        if (outFile.exists()) {
+          // e.g. on Windows: the library is loaded by another process
+          debug("extractResource: not replaced: %s (%s)", outFile, ex.getMessage());
+          return true;
+        }
+        error("extractResource: did not work: %s (%s)", outFile, ex.getMessage());
+        return false;
+      }
+      trace("extractResource: %s", outFile);
+      if (source != null) {
+        manifest.setProperty(outFile.getName(), getExtractedSignature(source, outFile));
+        try {
+          tmpFile = File.createTempFile(EXTRACTED_MANIFEST + "-", ".tmp", folder);
+          try (OutputStream outStream = new FileOutputStream(tmpFile)) {
+            manifest.store(outStream, "files extracted by SikuliX --- do not edit");
+          }
+          Files.move(tmpFile.toPath(), fManifest.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception ex) {
+          tmpFile.delete();
+          debug("extractResource: manifest not written: %s (%s)", fManifest, ex.getMessage());
+        }
+      }
+      return true;
+    }
+  }
+
+  // size and CRC of a jar entry or size and time of a file (null if not known: always extracted)
+  private static String getResourceSignature(URL resource) {
+    try {
+      URLConnection connection = resource.openConnection();
+      if (connection instanceof JarURLConnection) {
+        JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+        if (entry != null && entry.getSize() >= 0 && entry.getCrc() >= 0) {
+          return String.format("%d-%x", entry.getSize(), entry.getCrc());
+        }
+      } else if ("file".equals(resource.getProtocol())) {
+        File file = new File(resource.toURI());
+        if (file.isFile()) {
+          return String.format("%d-%d", file.length(), file.lastModified());
+        }
+      }
+    } catch (Exception ex) {
+      trace("extractResource: no signature: %s (%s)", resource, ex.getMessage());
+    }
+    return null;
+  }
+
+  private static String getExtractedSignature(String source, File outFile) {
+    return String.format("%s:%d-%d", source, outFile.length(), outFile.lastModified());
+  }
+
   private static boolean didExport = false;
 
   public static boolean shouldExport() {
@@ -1219,6 +1333,10 @@ public class Commons {
     info("work dir: %s", Commons.getWorkDir());
     info("user.home: %s", Commons.getUserHome());
     info("active locale: %s", globalOptions.getOption("SX_LOCALE"));
+    info("startup phases until now (-D%s: report at exit):", StartupProfiler.PROPERTY);
+    for (String phase : StartupProfiler.getReport()) {
+      info("  %s", phase);
+    }
     if (hasOption(CommandArgsEnum.VERBOSE) || isJythonReady()) {
 //      dumpClassPath("sikulix");
       if (isJythonReady()) {
@@ -1385,7 +1503,12 @@ public class Commons {
    * @return a new BufferedImage resized (width*factor, height*factor)
    */
   public static BufferedImage resize(BufferedImage bimg, float factor, Interpolation interpolation) {
-    return getBufferedImage(cvResize(bimg, factor, interpolation));
+    Mat mat = cvResize(bimg, factor, interpolation);
+    try {
+      return getBufferedImage(mat);
+    } finally {
+      releaseMat(mat);
+    }
   }
 
   /**
@@ -1466,21 +1589,32 @@ public class Commons {
     return makeMat(bImg, true);
   }
 
+  /**
+   * BufferedImage to Mat
+   * <br>a TYPE_INT_RGB image gives a Mat taken from the pool (might be given back with releaseMat())
+   *
+   * @param bImg  the image
+   * @param asBGR for TYPE_CUSTOM: without the alpha channel
+   * @return the Mat
+   */
   public static Mat makeMat(BufferedImage bImg, boolean asBGR) {
+    return makeMat(bImg, asBGR, true);
+  }
+
+  /**
+   * BufferedImage to Mat, that is kept (e.g. cached with an image): never taken from the pool
+   *
+   * @param bImg  the image
+   * @param asBGR for TYPE_CUSTOM: without the alpha channel
+   * @return the Mat
+   */
+  public static Mat makeMatKept(BufferedImage bImg, boolean asBGR) {
+    return makeMat(bImg, asBGR, false);
+  }
+
+  private static Mat makeMat(BufferedImage bImg, boolean asBGR, boolean pooled) {
     if (bImg.getType() == BufferedImage.TYPE_INT_RGB) {
-      int[] data = ((DataBufferInt) bImg.getRaster().getDataBuffer()).getData();
-      ByteBuffer byteBuffer = ByteBuffer.allocate(data.length * 4);
-      IntBuffer intBuffer = byteBuffer.asIntBuffer();
-      intBuffer.put(data);
-      Mat aMat = new Mat(bImg.getHeight(), bImg.getWidth(), CvType.CV_8UC4);
-      aMat.put(0, 0, byteBuffer.array());
-      Mat oMatBGR = new Mat(bImg.getHeight(), bImg.getWidth(), CvType.CV_8UC3);
-      Mat oMatA = new Mat(bImg.getHeight(), bImg.getWidth(), CvType.CV_8UC1);
-      List<Mat> mixIn = new ArrayList<Mat>(Arrays.asList(new Mat[]{aMat}));
-      List<Mat> mixOut = new ArrayList<Mat>(Arrays.asList(new Mat[]{oMatA, oMatBGR}));
-      //A 0 - R 1 - G 2 - B 3 -> A 0 - B 1 - G 2 - R 3
-      Core.mixChannels(mixIn, mixOut, new MatOfInt(0, 0, 1, 3, 2, 2, 3, 1));
-      return oMatBGR;
+      return makeMatFromIntRGB(bImg, pooled);
     } else if (bImg.getType() == BufferedImage.TYPE_3BYTE_BGR) {
       byte[] data = ((DataBufferByte) bImg.getRaster().getDataBuffer()).getData();
       Mat aMatBGR = new Mat(bImg.getHeight(), bImg.getWidth(), CvType.CV_8UC3);
@@ -1533,13 +1667,265 @@ public class Commons {
     return getNewMat();
   }
 
+  /**
+   * FNV-1a on the RGB values of the given part of the image (exact: equal only for the same pixels)
+   *
+   * @param bImg the image
+   * @param rect the part of the image
+   * @return the hash
+   */
+  public static long hashPixels(BufferedImage bImg, Rectangle rect) {
+    int[] row = new int[rect.width];
+    long hash = 0xcbf29ce484222325L;
+    for (int y = rect.y; y < rect.y + rect.height; y++) {
+      bImg.getRGB(rect.x, y, rect.width, 1, row, 0, rect.width);
+      for (int pixel : row) {
+        hash ^= pixel;
+        hash *= 0x100000001b3L;
+      }
+    }
+    return hash;
+  }
+
+  // reusable conversion buffers (screen captures usually have the same size)
+  private static final Queue<byte[]> convertBuffers = new ConcurrentLinkedQueue<>();
+  private static final int convertBuffersMax = 4;
+
+  private static byte[] takeConvertBuffer(int size) {
+    for (byte[] buffer : convertBuffers) {
+      if (buffer.length >= size && convertBuffers.remove(buffer)) {
+        return buffer;
+      }
+    }
+    return new byte[size];
+  }
+
+  // if all places are taken, a smaller buffer is replaced
+  private static void releaseConvertBuffer(byte[] buffer) {
+    if (convertBuffers.size() < convertBuffersMax) {
+      convertBuffers.offer(buffer);
+      return;
+    }
+    for (byte[] pooled : convertBuffers) {
+      if (pooled.length < buffer.length && convertBuffers.remove(pooled)) {
+        convertBuffers.offer(buffer);
+        return;
+      }
+    }
+  }
+
+  // pool of native Mats for temporaries (keyed by rows, cols and type)
+  private static final Map<Long, Deque<Mat>> matPool = new HashMap<>();
+  private static long matBytesInUse = 0;
+  private static long matBytesPooled = 0;
+
+  private static long matKey(int rows, int cols, int type) {
+    return ((long) rows << 40) | ((long) cols << 16) | type;
+  }
+
+  // a Mat taken from the pool knows its size in bytes:
+  // if it is dropped without releaseMat(), its bytes are given back when it is garbage collected
+  private static class PooledMat extends Mat {
+    private final long bytes;
+    private boolean taken = false;
+
+    PooledMat(int rows, int cols, int type, long bytes) {
+      super(rows, cols, type);
+      this.bytes = bytes;
+    }
+
+    @Override
+    protected void finalize() throws Throwable {
+      synchronized (matPool) {
+        if (taken) {
+          taken = false;
+          matBytesInUse -= bytes;
+        }
+      }
+      super.finalize();
+    }
+  }
+
+  /**
+   * INTERNAL: a Mat for temporary use from the pool (or a new one) - content undefined
+   * <br>should be given back with releaseMat() as soon as it is no longer needed
+   *
+   * @param rows rows
+   * @param cols cols
+   * @param type CvType
+   * @return the Mat
+   */
+  public static Mat takeMat(int rows, int cols, int type) {
+    if (rows < 1 || cols < 1) {
+      return getNewMat();
+    }
+    long bytes = (long) rows * cols * CvType.ELEM_SIZE(type);
+    PooledMat mat = null;
+    synchronized (matPool) {
+      Deque<Mat> mats = matPool.get(matKey(rows, cols, type));
+      if (mats != null && !mats.isEmpty()) {
+        mat = (PooledMat) mats.pop();
+        matBytesPooled -= bytes;
+      }
+    }
+    if (mat == null) {
+      mat = new PooledMat(rows, cols, type, bytes);
+    }
+    synchronized (matPool) {
+      mat.taken = true;
+      matBytesInUse += bytes;
+    }
+    return mat;
+  }
+
+  /**
+   * INTERNAL: give back a Mat taken with takeMat() - it must not be used anymore
+   * <br>if the pool is full (Settings.MatPoolSize), the native memory is freed immediately
+   *
+   * @param mat the Mat (others are only released)
+   */
+  public static void releaseMat(Mat mat) {
+    if (mat == null) {
+      return;
+    }
+    boolean pooled = false;
+    if (mat instanceof PooledMat) {
+      PooledMat pooledMat = (PooledMat) mat;
+      synchronized (matPool) {
+        if (!pooledMat.taken) {
+          // given back before
+          return;
+        }
+        pooledMat.taken = false;
+        matBytesInUse -= pooledMat.bytes;
+        // might have been reallocated by an OpenCV function meanwhile
+        boolean unchanged = !mat.empty() && mat.isContinuous() && mat.total() * mat.elemSize() == pooledMat.bytes;
+        if (unchanged && matBytesPooled + pooledMat.bytes <= Settings.MatPoolSize * 1024L * 1024L) {
+          matPool.computeIfAbsent(matKey(mat.rows(), mat.cols(), mat.type()), k -> new ArrayDeque<>()).push(mat);
+          matBytesPooled += pooledMat.bytes;
+          pooled = true;
+        }
+      }
+    }
+    if (!pooled) {
+      mat.release();
+    }
+  }
+
+  /**
+   * @return bytes of native memory in Mats taken from the pool and not yet given back
+   */
+  public static long getMatBytesInUse() {
+    synchronized (matPool) {
+      return matBytesInUse;
+    }
+  }
+
+  /**
+   * @return bytes of native memory in Mats kept in the pool for reuse
+   */
+  public static long getMatBytesPooled() {
+    synchronized (matPool) {
+      return matBytesPooled;
+    }
+  }
+
+  /**
+   * frees the native memory of all Mats kept in the pool
+   */
+  public static void clearMatPool() {
+    synchronized (matPool) {
+      for (Deque<Mat> mats : matPool.values()) {
+        for (Mat mat : mats) {
+          mat.release();
+        }
+      }
+      matPool.clear();
+      matBytesPooled = 0;
+    }
+  }
+
+  /**
+   * TYPE_INT_RGB (as returned by Robot.createScreenCapture) to CV_8UC3 BGR:
+   * the channels are reordered in one pass into a reused byte buffer, that is then copied into the Mat
+   * <br>if pooled, the Mat is taken from the pool (might be given back with releaseMat())
+   */
+  private static Mat makeMatFromIntRGB(BufferedImage bImg, boolean pooled) {
+    WritableRaster raster = bImg.getRaster();
+    DataBufferInt dataBuffer = (DataBufferInt) raster.getDataBuffer();
+    int[] data = dataBuffer.getData();
+    int w = bImg.getWidth();
+    int h = bImg.getHeight();
+    int stride = w;
+    if (raster.getSampleModel() instanceof SinglePixelPackedSampleModel) {
+      stride = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+    }
+    int offset = dataBuffer.getOffset()
+        - raster.getSampleModelTranslateY() * stride - raster.getSampleModelTranslateX();
+    int size = w * h * 3;
+    byte[] bgr = takeConvertBuffer(size);
+    int n = 0;
+    for (int y = 0; y < h; y++) {
+      int i = offset + y * stride;
+      int end = i + w;
+      while (i < end) {
+        int pixel = data[i++];
+        bgr[n++] = (byte) pixel;
+        bgr[n++] = (byte) (pixel >> 8);
+        bgr[n++] = (byte) (pixel >> 16);
+      }
+    }
+    Mat mBGR = pooled ? takeMat(h, w, CvType.CV_8UC3) : new Mat(h, w, CvType.CV_8UC3);
+    mBGR.put(0, 0, bgr, 0, size);
+    releaseConvertBuffer(bgr);
+    return mBGR;
+  }
+
   public final static String PNG = "png";
   public final static String dotPNG = "." + PNG;
 
+  /**
+   * Mat to BufferedImage: 8-bit Mats with 1, 3 or 4 channels are copied directly into the raster
+   * (TYPE_BYTE_GRAY, TYPE_3BYTE_BGR, TYPE_4BYTE_ABGR - the same types as with the PNG round trip),
+   * others are converted using an in-memory PNG
+   *
+   * @param mat the Mat
+   * @return the BufferedImage (might be null)
+   */
   public static BufferedImage getBufferedImage(Mat mat) {
+    if (SX.isNotNull(mat) && !mat.empty() && mat.depth() == CvType.CV_8U) {
+      int channels = mat.channels();
+      if (channels == 1 || channels == 3 || channels == 4) {
+        return getBufferedImageFromRaster(mat);
+      }
+    }
     return getBufferedImage(mat, dotPNG);
   }
 
+  private static BufferedImage getBufferedImageFromRaster(Mat mat) {
+    int channels = mat.channels();
+    int type = BufferedImage.TYPE_BYTE_GRAY;
+    if (channels == 3) {
+      type = BufferedImage.TYPE_3BYTE_BGR;
+    } else if (channels == 4) {
+      type = BufferedImage.TYPE_4BYTE_ABGR;
+    }
+    BufferedImage bImg = new BufferedImage(mat.cols(), mat.rows(), type);
+    byte[] data = ((DataBufferByte) bImg.getRaster().getDataBuffer()).getData();
+    mat.get(0, 0, data);
+    if (channels == 4) {
+      // BGRA to ABGR
+      for (int n = 0; n < data.length; n += 4) {
+        byte alpha = data[n + 3];
+        data[n + 3] = data[n + 2];
+        data[n + 2] = data[n + 1];
+        data[n + 1] = data[n];
+        data[n] = alpha;
+      }
+    }
+    return bImg;
+  }
+
   public static BufferedImage getBufferedImage(Mat mat, String type) {
     BufferedImage bImg = null;
     MatOfByte bytemat = new MatOfByte();
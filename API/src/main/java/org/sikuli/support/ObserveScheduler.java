@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2010-2021, sikuli.org, sikulix.com - MIT license
+ */
+package org.sikuli.support;
+
+import org.sikuli.basics.Debug;
+import org.sikuli.script.Region;
+import org.sikuli.script.Screen;
+import org.sikuli.script.ScreenImage;
+import org.sikuli.support.devices.IScreen;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * INTERNAL USE ONLY --- NOT part of the official API
+ * runs the observers started with Region.observeInBackground() (Settings.ObserveSharedCapture)<br>
+ * one thread decides, which observers are due (each with its region's ObserveScanRate),
+ * takes one capture per screen for the union of their regions
+ * and hands each observer its part of it (the observers are updated in parallel)
+ */
+public class ObserveScheduler {
+
+  private static final String me = "ObserveScheduler: ";
+  private static final int lvl = 3;
+
+  private static void log(int level, String message, Object... args) {
+    Debug.logx(level, me + message, args);
+  }
+
+  private ObserveScheduler() {
+  }
+
+  private static class Observation {
+    Region region;
+    double secs;
+    long stopTime;
+    long nextScan = 0;
+    boolean updating = false;
+
+    Observation(Region region, double secs) {
+      this.region = region;
+      this.secs = secs;
+      long now = new Date().getTime();
+      stopTime = secs * 1000 > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + (long) (secs * 1000);
+    }
+
+    long getScanTime() {
+      return (long) (1000.0 / region.getObserveScanRate());
+    }
+  }
+
+  private static final List<Observation> observations = new ArrayList<>();
+  private static Thread scheduler = null;
+  private static ExecutorService updaters = null;
+  private static final AtomicInteger updaterCount = new AtomicInteger(0);
+
+  /**
+   * start observing the region in background
+   *
+   * @param region the region (with its observer)
+   * @param secs   time in seconds the observer should run
+   * @return false if not possible
+   */
+  public static boolean add(Region region, double secs) {
+    if (!region.observeStart(secs)) {
+      return false;
+    }
+    synchronized (observations) {
+      observations.add(new Observation(region, secs));
+      if (updaters == null) {
+        updaters = Executors.newCachedThreadPool(runnable -> {
+          Thread updater = new Thread(runnable, "SikuliX-Observe-" + updaterCount.incrementAndGet());
+          updater.setDaemon(true);
+          return updater;
+        });
+      }
+      if (scheduler == null) {
+        scheduler = new Thread(ObserveScheduler::run, "SikuliX-ObserveScheduler");
+        scheduler.start();
+      }
+      log(lvl, "add: %s (now %d)", region.toStringShort(), observations.size());
+      observations.notifyAll();
+    }
+    return true;
+  }
+
+  private static void run() {
+    List<Observation> ended = new ArrayList<>();
+    List<Observation> due = new ArrayList<>();
+    while (true) {
+      ended.clear();
+      due.clear();
+      synchronized (observations) {
+        long now = new Date().getTime();
+        long waitTime = Long.MAX_VALUE;
+        Iterator<Observation> iterator = observations.iterator();
+        while (iterator.hasNext()) {
+          Observation observation = iterator.next();
+          if (observation.updating) {
+            continue;
+          }
+          if (!observation.region.isObserving() || now >= observation.stopTime) {
+            iterator.remove();
+            ended.add(observation);
+            continue;
+          }
+          if (now >= observation.nextScan) {
+            observation.updating = true;
+            observation.nextScan = now + observation.getScanTime();
+            due.add(observation);
+          } else {
+            waitTime = Math.min(waitTime, observation.nextScan - now);
+          }
+        }
+        if (observations.isEmpty() && ended.isEmpty()) {
+          scheduler = null;
+          log(lvl, "no more observers");
+          return;
+        }
+        if (due.isEmpty() && ended.isEmpty()) {
+          try {
+            observations.wait(waitTime == Long.MAX_VALUE ? 0 : waitTime);
+          } catch (InterruptedException e) {
+          }
+          continue;
+        }
+      }
+      for (Observation observation : ended) {
+        observation.region.observeEnd(observation.secs);
+      }
+      scan(due);
+    }
+  }
+
+  // one capture per screen for the union of the due regions
+  private static void scan(List<Observation> due) {
+    Map<Object, List<Observation>> screens = new LinkedHashMap<>();
+    for (Observation observation : due) {
+      IScreen screen = observation.region.getScreen();
+      Object key = screen instanceof Screen ? (Object) screen.getID() : screen;
+      screens.computeIfAbsent(key, k -> new ArrayList<>()).add(observation);
+    }
+    for (List<Observation> onScreen : screens.values()) {
+      IScreen screen = onScreen.get(0).region.getScreen();
+      Rectangle union = null;
+      for (Observation observation : onScreen) {
+        Rectangle rect = observation.region.getRect();
+        union = union == null ? rect : union.union(rect);
+      }
+      ScreenImage shot;
+      try {
+        shot = screen.capture(union);
+      } catch (Exception ex) {
+        log(-1, "capture: %s (%s)", union, ex.getMessage());
+        for (Observation observation : onScreen) {
+          updated(observation);
+        }
+        continue;
+      }
+      log(lvl + 1, "scan: %d observer(s) in %s", onScreen.size(), union);
+      for (Observation observation : onScreen) {
+        Rectangle rect = observation.region.getRect();
+        updaters.execute(() -> {
+          try {
+            // regions partly outside the screen are captured on their own (as before)
+            ScreenImage simg = shot.getRect().contains(rect) ? shot.getSub(rect) : screen.capture(rect);
+            observation.region.observeUpdate(simg);
+          } catch (Exception ex) {
+            log(-1, "update: %s (%s)", observation.region.toStringShort(), ex.getMessage());
+            observation.region.stopObserver();
+          } finally {
+            updated(observation);
+          }
+        });
+      }
+    }
+  }
+
+  private static void updated(Observation observation) {
+    synchronized (observations) {
+      observation.updating = false;
+      observations.notifyAll();
+    }
+  }
+}
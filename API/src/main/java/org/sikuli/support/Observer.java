@@ -8,6 +8,9 @@ import org.sikuli.basics.Settings;
 import org.sikuli.script.*;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * INTERNAL USE implements the observe action for a region and calls the ObserverCallBacks
@@ -173,16 +176,50 @@ public class Observer {
     }
   }
 
+  private int maxParallel = Settings.ObserveMaxParallel;
+
+  /**
+   * @return how many events are checked in parallel
+   */
+  public int getMaxParallel() {
+    return maxParallel;
+  }
+
+  /**
+   * set how many events are checked in parallel (default: Settings.ObserveMaxParallel)
+   *
+   * @param maxParallel 1 = one after the other
+   */
+  public void setMaxParallel(int maxParallel) {
+    this.maxParallel = Math.max(1, maxParallel);
+  }
+
+  // an APPEAR/VANISH event to be checked in the current image
+  private static class EventCheck {
+    String name;
+    Object ptn;
+    Image img;
+    Match match = null;
+    boolean hasMatch = false;
+    long time = 0;
+
+    EventCheck(String name, Object ptn, Image img) {
+      this.name = name;
+      this.ptn = ptn;
+      this.img = img;
+    }
+  }
+
   private boolean checkPatterns(ScreenImage simg) {
     log(lvl + 1, "update: checking patterns");
     if (!observedRegion.isObserving()) {
       return false;
     }
-    Finder finder = null;
+    if (!patternsToCheck()) {
+      return false;
+    }
+    List<EventCheck> checks = new ArrayList<>();
     for (String name : eventStates.keySet()) {
-      if (!patternsToCheck()) {
-        continue;
-      }
       if (eventStates.get(name) == State.REPEAT) {
         if ((new Date()).getTime() < eventRepeatWaitTimes.get(name)) {
           continue;
@@ -200,56 +237,22 @@ public class Observer {
         eventStates.put(name, State.MISSING);
         continue;
       }
-      Match match = null;
-      boolean hasMatch = false;
-      long lastSearchTime;
-      long now = 0;
-//      if (!Settings.UseImageFinder && Settings.CheckLastSeen && null != img.getLastSeen()) {
-      if (Settings.CheckLastSeen && null != img.getLastSeen()) {
-        Region r = Region.create(img.getLastSeen());
-        if (observedRegion.contains(r)) {
-          lastSearchTime = (new Date()).getTime();
-          Finder f = new Finder(new Screen().capture(r), r);
-          f.find(new Pattern(img).similar(Settings.CheckLastSeenSimilar));
-          if (f.hasNext()) {
-            log(lvl + 1, "checkLastSeen: still there");
-            match = new Match(new Region(img.getLastSeen()), img.getLastSeenScore());
-            match.setTimes(0, (new Date()).getTime() - lastSearchTime);
-            hasMatch = true;
-          } else {
-            log(lvl + 1, "checkLastSeen: not there");
-          }
-        }
-      }
-      if (match == null) {
-        if (finder == null) {
-//          if (Settings.UseImageFinder) {
-//            finder = new ImageFinder(observedRegion);
-//            ((ImageFinder) finder).setIsMultiFinder();
-//          } else {
-//            finder = new Finder(simg, observedRegion);
-//          }
-          finder = new Finder(simg, observedRegion);
-        }
-        lastSearchTime = (new Date()).getTime();
-        now = (new Date()).getTime();
-        finder.find(img);
-        if (finder.hasNext()) {
-          match = finder.next();
-          match.setTimes(0, now - lastSearchTime);
-          if (match.getScore() >= getSimiliarity(ptn)) {
-            hasMatch = true;
-            img.setLastSeen(match.getRect(), match.getScore());
-          }
-        }
-      }
+      checks.add(new EventCheck(name, ptn, img));
+    }
+    findPatterns(simg, checks);
+    // the events in the given order in this thread
+    for (EventCheck check : checks) {
+      String name = check.name;
+      Object ptn = check.ptn;
+      Match match = check.match;
+      boolean hasMatch = check.hasMatch;
       if (hasMatch) {
         eventMatches.put(name, match);
         log(lvl + 1, "(%s): %s match: %s in:%s", eventTypes.get(name), ptn.toString(),
                 match.toStringShort(), observedRegion.toStringShort());
       } else if (eventStates.get(ptn) == State.FIRST) {
         log(lvl + 1, "(%s): %s match: %s in:%s", eventTypes.get(name), ptn.toString(),
-                match.toStringShort(), observedRegion.toStringShort());
+                match == null ? "none" : match.toStringShort(), observedRegion.toStringShort());
         eventStates.put(name, State.UNKNOWN);
       }
       if (eventStates.get(name) != State.HAPPENED) {
@@ -260,7 +263,7 @@ public class Observer {
                 || (!hasMatch && eventTypes.get(name) == ObserveEvent.Type.VANISH)) {
           eventStates.put(name, State.HAPPENED);
           eventCounts.put(name, eventCounts.get(name) + 1);
-          callEventObserver(name, eventMatches.get(name), now);
+          callEventObserver(name, eventMatches.get(name), check.time);
           if (shouldStopOnFirstEvent) {
             observedRegion.stopObserver();
           }
@@ -273,6 +276,99 @@ public class Observer {
     return patternsToCheck();
   }
 
+  // up to maxParallel events are searched at the same time (each with its own Finder on the same image)
+  private void findPatterns(ScreenImage simg, List<EventCheck> checks) {
+    Finder[] finder = new Finder[1];
+    Supplier<Finder> baseFinder = () -> {
+      synchronized (finder) {
+        if (finder[0] == null) {
+          finder[0] = new Finder(simg, observedRegion);
+        }
+        return finder[0];
+      }
+    };
+    AtomicInteger nextCheck = new AtomicInteger(0);
+    Runnable worker = () -> {
+      int nCheck;
+      while ((nCheck = nextCheck.getAndIncrement()) < checks.size()) {
+        EventCheck check = checks.get(nCheck);
+        try {
+          findPattern(check, simg, baseFinder);
+        } catch (RuntimeException ex) {
+          Debug.error("EventMgr: checkPatterns: %s: %s", check.ptn, ex.getMessage());
+        }
+      }
+    };
+    int workers = Math.min(maxParallel, checks.size());
+    List<ForkJoinTask<?>> tasks = new ArrayList<>();
+    for (int n = 1; n < workers; n++) {
+      tasks.add(Finder.getFindPool().submit(worker));
+    }
+    worker.run();
+    for (ForkJoinTask<?> task : tasks) {
+      task.join();
+    }
+    if (finder[0] != null) {
+      finder[0].destroy();
+    }
+  }
+
+  private void findPattern(EventCheck check, ScreenImage simg, Supplier<Finder> baseFinder) {
+    Image img = check.img;
+    Match match = null;
+    long lastSearchTime;
+//      if (!Settings.UseImageFinder && Settings.CheckLastSeen && null != img.getLastSeen()) {
+    if (Settings.CheckLastSeen && null != img.getLastSeen()) {
+      Region r = Region.create(img.getLastSeen());
+      if (observedRegion.contains(r)) {
+        lastSearchTime = (new Date()).getTime();
+        long seenHash = img.hashLastSeen(simg);
+        if (img.isLastSeenUnchanged(seenHash, 0) && img.getLastSeenScore() >= getSimiliarity(check.ptn)) {
+          log(lvl + 1, "checkLastSeen: still there (unchanged)");
+          check.hasMatch = true;
+        } else {
+          // in the image of this scan (no extra capture)
+          Finder f = new Finder(simg.getSub(r.getRect()), r);
+          f.find(new Pattern(img).similar(Settings.CheckLastSeenSimilar));
+          if (f.hasNext()) {
+            log(lvl + 1, "checkLastSeen: still there");
+            img.setLastSeen(r.getRect(), f.next().getScore(), seenHash, 0);
+            check.hasMatch = true;
+          } else {
+            log(lvl + 1, "checkLastSeen: not there");
+          }
+          f.destroy();
+        }
+        if (check.hasMatch) {
+          match = new Match(new Region(img.getLastSeen()), img.getLastSeenScore());
+          match.setTimes(0, (new Date()).getTime() - lastSearchTime);
+        }
+      }
+    }
+    if (match == null) {
+//          if (Settings.UseImageFinder) {
+//            finder = new ImageFinder(observedRegion);
+//            ((ImageFinder) finder).setIsMultiFinder();
+//          } else {
+//            finder = new Finder(simg, observedRegion);
+//          }
+      Finder finder = new Finder(baseFinder.get());
+      lastSearchTime = (new Date()).getTime();
+      check.time = (new Date()).getTime();
+      finder.find(img);
+      if (finder.hasNext()) {
+        match = finder.next();
+        match.setTimes(0, check.time - lastSearchTime);
+        if (match.getScore() >= getSimiliarity(check.ptn)) {
+          check.hasMatch = true;
+          img.setLastSeen(match.getRect(), match.getScore(), simg, 0);
+        }
+      }
+      finder.destroy();
+    }
+    check.match = match;
+  }
+
   private boolean patternsToCheck() {
     for (String name : eventNames.keySet()) {
       if (eventTypes.get(name) == ObserveEvent.Type.CHANGE) {
@@ -296,6 +392,7 @@ public class Observer {
   }
 
   private ScreenImage lastImage = null;
+  private long[] lastHashes = null;
 
   private boolean checkChanges(ScreenImage img) {
     if (changeEventName == null) {
@@ -304,6 +401,7 @@ public class Observer {
     //boolean leftToDo = false;
     if (lastImage == null) {
       lastImage = img;
+      lastHashes = Finder.hashChangeBlocks(img);
       return true;
     }
 //    for (String name : eventNames.keySet()) {
@@ -323,8 +421,8 @@ public class Observer {
       }
     }
     log(lvl + 1, "update: checking changes");
-    Finder finder = new Finder(lastImage);
-    List<Region> result = finder.findChanges(img);
+    long[] hashes = Finder.hashChangeBlocks(img);
+    List<Region> result = Finder.findChanges(lastImage, lastHashes, img, hashes);
     if (result.size() > 0) {
       callChangeObserver(result);
       if (shouldStopOnFirstEvent) {
@@ -332,6 +430,7 @@ public class Observer {
       }
     }
     lastImage = img;
+    lastHashes = hashes;
     return true;
   }
 
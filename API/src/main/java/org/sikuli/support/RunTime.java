@@ -344,30 +344,25 @@ public class RunTime {
    * @return success
    */
   public static boolean extractResourceToFile(String inPrefix, String inFile, File outDir, String outFile) {
-    InputStream aIS;
-    FileOutputStream aFileOS;
     String content = inPrefix + "/" + inFile;
     try {
       content = Commons.runningWindows() ? content.replace("\\", "/") : content;
       if (!content.startsWith("/")) {
         content = "/" + content;
       }
-      aIS = (InputStream) clsRef.getResourceAsStream(content);
-      if (aIS == null) {
+      URL resource = clsRef.getResource(content);
+      if (resource == null) {
         File fInFile = new File(content);
         if (!fInFile.exists()) {
           throw new IOException(String.format("resource not accessible: %s", content));
         }
-        aIS = new FileInputStream(fInFile);
+        resource = fInFile.toURI().toURL();
       }
       File out = outFile.isEmpty() ? new File(outDir, inFile) : new File(outDir, outFile);
-      if (!out.getParentFile().exists()) {
-        out.getParentFile().mkdirs();
+      // only copied, if not yet there (see Commons.extractResource)
+      if (!Commons.extractResource(resource, out)) {
+        throw new IOException(String.format("not extracted: %s", out));
       }
-      aFileOS = new FileOutputStream(out);
-      copy(aIS, aFileOS);
-      aIS.close();
-      aFileOS.close();
     } catch (Exception ex) {
       log(-1, "extractResourceToFile: %s\n%s", content, ex);
       return false;
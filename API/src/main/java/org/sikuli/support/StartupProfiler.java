@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2010-2021, sikuli.org, sikulix.com - MIT license
+ */
+package org.sikuli.support;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * INTERNAL USE ONLY --- NOT part of the official API
+ * records the wall time (and with -Dsikuli.StartupProfile the allocated bytes)
+ * of the initialization phases (OpenCV, screens, OCR, keyboard layouts, native libraries, ...)<br>
+ * the phases are reported by Commons.show() (option -v) and with -Dsikuli.StartupProfile at exit
+ */
+public class StartupProfiler {
+
+  public static final String PROPERTY = "sikuli.StartupProfile";
+
+  private static final boolean reportAtExit = System.getProperty(PROPERTY) != null;
+  private static ThreadMXBean threadBean = null;
+
+  private static final List<Phase> phases = new ArrayList<>();
+  private static final ThreadLocal<Integer> depth = ThreadLocal.withInitial(() -> 0);
+
+  private StartupProfiler() {
+  }
+
+  /**
+   * a running phase: to be ended with end() (nested phases are reported indented)
+   */
+  public static class Phase {
+    private final String name;
+    private final int level;
+    private final long startTime;
+    private final long startBytes;
+    private long nanos = -1;
+    private long bytes = -1;
+
+    private Phase(String name) {
+      this.name = name;
+      level = depth.get();
+      depth.set(level + 1);
+      startBytes = getAllocatedBytes();
+      startTime = System.nanoTime();
+    }
+
+    /**
+     * ends the phase and records it (only the first call counts)
+     */
+    public void end() {
+      if (nanos > -1) {
+        return;
+      }
+      nanos = System.nanoTime() - startTime;
+      if (startBytes > -1) {
+        bytes = getAllocatedBytes() - startBytes;
+      }
+      depth.set(level);
+      synchronized (phases) {
+        phases.add(this);
+      }
+    }
+
+    @Override
+    public String toString() {
+      String indent = new String(new char[level * 2]).replace('\0', ' ');
+      String text = String.format("%-36s %8.1f ms", indent + name, nanos / 1000000.0);
+      if (bytes > -1) {
+        text += String.format(" %8d KB", bytes / 1024);
+      }
+      return text;
+    }
+  }
+
+  /**
+   * starts a phase (the phase is recorded with Phase.end())
+   *
+   * @param name a short name (e.g. class.method)
+   * @return the running phase
+   */
+  public static Phase start(String name) {
+    return new Phase(name);
+  }
+
+  /**
+   * @return the ended phases in the order they started (nested phases indented)
+   */
+  public static List<String> getReport() {
+    List<Phase> ended;
+    synchronized (phases) {
+      ended = new ArrayList<>(phases);
+    }
+    ended.sort((phase1, phase2) -> Long.compare(phase1.startTime, phase2.startTime));
+    List<String> report = new ArrayList<>();
+    for (Phase phase : ended) {
+      report.add(phase.toString());
+    }
+    return report;
+  }
+
+  static boolean shouldReportAtExit() {
+    return reportAtExit;
+  }
+
+  // the bytes allocated by the current thread (-1 if not tracked)
+  private static long getAllocatedBytes() {
+    if (!reportAtExit) {
+      return -1;
+    }
+    if (threadBean == null) {
+      threadBean = ManagementFactory.getThreadMXBean();
+    }
+    if (threadBean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+      if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    return -1;
+  }
+}
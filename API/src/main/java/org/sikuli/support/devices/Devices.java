@@ -6,6 +6,7 @@ import org.sikuli.support.RunTime;
 import java.awt.AWTException;
 import java.awt.Robot;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 public abstract class Devices {
 
@@ -38,6 +39,46 @@ public abstract class Devices {
     return globalRobot;
   }
 
+  private static final ReentrantLock desktopLock = new ReentrantLock(true);
+  private static final ThreadLocal<Boolean> desktopOnInput = ThreadLocal.withInitial(() -> false);
+
+  /**
+   * INTERNAL USE: scripts run in parallel (e.g. by the server) use mouse and keyboard one after the other<br>
+   * the current thread takes the desktop (waiting for other holders) with its first mouse or keyboard action
+   * and keeps it until desktopRelease()
+   */
+  public static void desktopLockOnInput() {
+    desktopOnInput.set(true);
+  }
+
+  /**
+   * INTERNAL USE: the current thread takes the desktop now (waiting for other holders)
+   * and keeps it until desktopRelease()
+   */
+  public static void desktopLock() {
+    if (!desktopLock.isHeldByCurrentThread()) {
+      desktopLock.lock();
+    }
+  }
+
+  /**
+   * INTERNAL USE: the current thread gives the desktop back (if it has it)
+   */
+  public static void desktopRelease() {
+    desktopOnInput.remove();
+    while (desktopLock.isHeldByCurrentThread()) {
+      desktopLock.unlock();
+    }
+  }
+
+  // called with every mouse or keyboard action
+  static void desktopInput() {
+    if (desktopOnInput.get() && !desktopLock.isHeldByCurrentThread()) {
+      log(TYPE.MOUSE, 3, "desktop: waiting for mouse and keyboard (%s)", Thread.currentThread().getName());
+      desktopLock.lock();
+    }
+  }
+
   public static void start(TYPE type, Map<String, Object> options) {
     if (type.equals(TYPE.SCREEN)) {
       ScreenDevice.start();
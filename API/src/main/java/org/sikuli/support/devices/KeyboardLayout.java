@@ -12,6 +12,7 @@ import java.util.Map;
 import org.jnativehook.keyboard.NativeKeyEvent;
 import org.sikuli.basics.Settings;
 import org.sikuli.natives.SXUser32;
+import org.sikuli.support.StartupProfiler;
 
 import com.sun.jna.platform.win32.WinDef.HKL;
 import com.sun.jna.platform.win32.WinDef.HWND;
@@ -19,11 +20,34 @@ import org.sikuli.script.Key;
 
 public class KeyboardLayout {
   private static final int DEFAULT_KEYBOARD_LAYOUT_ID = 0x0409; // en-US;
-  private static final Map<Character, int[]> DEFAULT_KEYBOARD_LAYOUT = buildAwtEnUs(); // en-US;
+  // the tables are built on first use
+  private static Map<Character, int[]> DEFAULT_KEYBOARD_LAYOUT = null; // en-US;
 
   private static final Map<Integer, Map<Character, int[]>> LAYOUTS = new HashMap<>();
 
-  private static final Map<Character, int[]> JNATIVEHOOK_MAPPINGS = buildJnativehookMappings();
+  private static Map<Character, int[]> JNATIVEHOOK_MAPPINGS = null;
+
+  private static Map<Character, int[]> getDefaultLayout() {
+    synchronized (LAYOUTS) {
+      if (DEFAULT_KEYBOARD_LAYOUT == null) {
+        StartupProfiler.Phase phase = StartupProfiler.start("KeyboardLayout: en-US");
+        DEFAULT_KEYBOARD_LAYOUT = buildAwtEnUs();
+        phase.end();
+      }
+      return DEFAULT_KEYBOARD_LAYOUT;
+    }
+  }
+
+  private static Map<Character, int[]> getJnativehookMappings() {
+    synchronized (LAYOUTS) {
+      if (JNATIVEHOOK_MAPPINGS == null) {
+        StartupProfiler.Phase phase = StartupProfiler.start("KeyboardLayout: JNativeHook");
+        JNATIVEHOOK_MAPPINGS = buildJnativehookMappings();
+        phase.end();
+      }
+      return JNATIVEHOOK_MAPPINGS;
+    }
+  }
 
   class WindowsVkCodes {
     public static final int VK_SHIFT = 0x10; // SHIFT key
@@ -733,9 +757,11 @@ public class KeyboardLayout {
   }
 
   private static Map<Character, int[]> getCurrentLayout() {
-    Map<Character, int[]> layout = DEFAULT_KEYBOARD_LAYOUT;
+    Map<Character, int[]> layout;
 
-    if (Settings.AutoDetectKeyboardLayout && Settings.isWindows()) {
+    if (!Settings.AutoDetectKeyboardLayout || !Settings.isWindows()) {
+      layout = getDefaultLayout();
+    } else {
       int keyboarLayoutId = DEFAULT_KEYBOARD_LAYOUT_ID;
       HWND hwnd = SXUser32.INSTANCE.GetForegroundWindow();
       if (hwnd != null) {
@@ -750,7 +776,10 @@ public class KeyboardLayout {
         layout = LAYOUTS.get(keyboarLayoutId);
 
         if (layout == null) {
+          StartupProfiler.Phase phase = StartupProfiler.start(
+              String.format("KeyboardLayout: Windows %04x", keyboarLayoutId));
           layout = buildWindowsLayout(keyboarLayoutId);
+          phase.end();
           LAYOUTS.put(keyboarLayoutId, layout);
         }
       }
@@ -801,7 +830,7 @@ public class KeyboardLayout {
         }
       }
     } else {
-      for (Map.Entry<Character, int[]> entry : JNATIVEHOOK_MAPPINGS.entrySet()) {
+      for (Map.Entry<Character, int[]> entry : getJnativehookMappings().entrySet()) {
         if (entry.getValue().length >= 2) {
           if (entry.getValue()[0] == event.getKeyCode() && entry.getValue()[1] == event.getKeyLocation()) {
             ch = entry.getKey();
@@ -135,6 +135,7 @@ public class RobotDesktop extends Robot implements IRobot {
   }
 
   private void doMouseMove(int x, int y) {
+    Devices.desktopInput();
     mouseMove(x, y);
   }
 
@@ -181,6 +182,7 @@ public class RobotDesktop extends Robot implements IRobot {
   }
 
   private void doMouseDown(int buttons) {
+    Devices.desktopInput();
     Highlight fakeHighlight = null;
     if (needsRobotFake()) {
       fakeHighlight = Highlight.fakeHighlight();
@@ -212,6 +214,7 @@ public class RobotDesktop extends Robot implements IRobot {
   }
 
   private void doMouseUp(int buttons) {
+    Devices.desktopInput();
     logRobot(stdAutoDelay, "MouseUp: WaitForIdle: %s - Delay: %d");
     setAutoDelay(stdAutoDelay);
     mouseRelease(buttons);
@@ -221,9 +224,16 @@ public class RobotDesktop extends Robot implements IRobot {
     logRobot("MouseUp: extended delay: %d", stdMaxElapsed);
   }
 
+  @Override
+  public synchronized void mouseWheel(int wheelAmt) {
+    Devices.desktopInput();
+    super.mouseWheel(wheelAmt);
+  }
+
   @Override
   public void mouseReset() {
     if (heldButtons != 0) {
+      Devices.desktopInput();
       mouseRelease(heldButtons);
       if (stdAutoDelay == 0) {
         delay(stdDelay);
@@ -306,6 +316,7 @@ public class RobotDesktop extends Robot implements IRobot {
   }
 
   private void doKeyPress(int keyCode) {
+    Devices.desktopInput();
     Highlight fakeHighlight = null;
     if (needsRobotFake()) {
       fakeHighlight = Highlight.fakeHighlight();
@@ -378,6 +389,7 @@ public class RobotDesktop extends Robot implements IRobot {
   }
 
   private void doKeyRelease(int keyCode) {
+    Devices.desktopInput();
     logRobot(stdAutoDelay, "KeyRelease: WaitForIdle: %s - Delay: %d");
     setAutoDelay(stdAutoDelay);
     // on Windows we detect the current layout in KeyboardLayout.
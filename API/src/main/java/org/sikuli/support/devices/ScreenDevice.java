@@ -4,6 +4,7 @@ import org.sikuli.script.Image;
 import org.sikuli.script.Region;
 import org.sikuli.script.Screen;
 import org.sikuli.support.RunTime;
+import org.sikuli.support.StartupProfiler;
 import org.sikuli.util.OverlayCapturePrompt;
 
 import java.awt.*;
@@ -96,6 +97,15 @@ public class ScreenDevice extends Devices {
     if (mainMonitor > -1) {
       return;
     }
+    StartupProfiler.Phase phase = StartupProfiler.start("ScreenDevice.initDevices");
+    try {
+      doInitDevices();
+    } finally {
+      phase.end();
+    }
+  }
+
+  private static void doInitDevices() {
     if (!isHeadless()) {
       log(deviceType, 4, "Accessing: GraphicsEnvironment.getLocalGraphicsEnvironment()");
       GraphicsEnvironment genv = GraphicsEnvironment.getLocalGraphicsEnvironment();
@@ -112,11 +122,7 @@ public class ScreenDevice extends Devices {
         String addOn = "";
         GraphicsDevice gdev = gdevs[i];
         currentBounds = gdev.getDefaultConfiguration().getBounds();
-        try {
-          new Robot(gdev);
-        } catch (AWTException e) {
-          RunTime.terminate(999, "ScreenDevice.init: device#%d (%s)", i, e.getMessage());
-        }
+        // the device's Robot is created on first use (getRobot())
         int actualScreen = nScreen;
         if (currentBounds.contains(new Point(0, 0))) {
           if (mainMonitor < 0) {
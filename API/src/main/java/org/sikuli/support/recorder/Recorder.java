@@ -13,6 +13,7 @@ import org.jnativehook.keyboard.NativeKeyListener;
 import org.jnativehook.mouse.*;
 import org.sikuli.basics.Debug;
 import org.sikuli.basics.Settings;
+import org.sikuli.script.Finder;
 import org.sikuli.script.Location;
 import org.sikuli.script.Screen;
 import org.sikuli.script.ScreenImage;
@@ -21,15 +22,21 @@ import org.sikuli.support.Commons;
 import org.sikuli.support.RunTime;
 import org.sikuli.support.recorder.actions.IRecordedAction;
 
+import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -46,12 +53,18 @@ public class Recorder implements NativeKeyListener, NativeMouseListener, NativeM
 
   private static final int MOUSE_MOVE_THRESHOLD = 20;
 
+  // screenshots captured, but not yet written (limits the memory used, when writing is slower than capturing)
+  private static final int MAX_PENDING_SCREENSHOTS = 8;
+
+  private final AtomicInteger screenshotCount = new AtomicInteger(0);
+
   private RecordedEventsFlow eventsFlow = new RecordedEventsFlow();
   private File screenshotDir;
 
   private volatile boolean running = false;
 
   ScreenImage currentImage = null;
+  long[] currentImageHashes = null;
   String currentImageFilePath = null;
 
   private long currentMouseX = 0;
@@ -60,6 +73,12 @@ public class Recorder implements NativeKeyListener, NativeMouseListener, NativeM
 
   private boolean capturing = false;
   private final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor();
+  private final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+    Thread writer = new Thread(runnable, "SikuliX-RecorderWriter");
+    writer.setDaemon(true);
+    return writer;
+  });
+  private final Semaphore pendingScreenshots = new Semaphore(MAX_PENDING_SCREENSHOTS);
 
   private static void registerNativeHook() {
     try {
@@ -112,10 +131,12 @@ public class Recorder implements NativeKeyListener, NativeMouseListener, NativeM
               if (screenshotDir.exists()) {
                 final Screen screen = getRelevantScreen();
                 ScreenImage img = screen.capture();
-                // Dedupe screenshots
-                if (img.diffPercentage(currentImage) > 0.0001) {
+                long[] imgHashes = Finder.hashChangeBlocks(img);
+                // Dedupe screenshots (only the blocks with different hashes are compared)
+                if (currentImage == null || img.diffPercentage(currentImage, imgHashes, currentImageHashes) > 0.0001) {
                   currentImage = img;
-                  currentImageFilePath = currentImage.saveInto(screenshotDir);
+                  currentImageHashes = imgHashes;
+                  currentImageFilePath = saveScreenshot(img);
                 }
                 final int screenID = screen.getID();
                 if (screenID > 9) {
@@ -135,6 +156,40 @@ public class Recorder implements NativeKeyListener, NativeMouseListener, NativeM
     }
   }
 
+  /*
+   * Writes the screenshot in background (the file is there, when the recorded events are compiled).
+   * Waits, if already MAX_PENDING_SCREENSHOTS are waiting to be written.
+   */
+  private String saveScreenshot(ScreenImage img) {
+    // the counter keeps the names unique (more than one screenshot in the same millisecond)
+    File fImage = new File(screenshotDir, String.format("%s-%d-%d.png", "sikuliximage", new Date().getTime(),
+        screenshotCount.incrementAndGet()));
+    pendingScreenshots.acquireUninterruptibly();
+    WRITER.execute(() -> {
+      try {
+        ImageIO.write(img.getImage(), "png", fImage);
+        Debug.log(3, "Recorder: screenshot saved: %s", fImage);
+      } catch (Exception ex) {
+        Debug.error("Recorder: screenshot not saved: %s (%s)", fImage, ex.getMessage());
+      } finally {
+        pendingScreenshots.release();
+      }
+    });
+    return fImage.getAbsolutePath();
+  }
+
+  /*
+   * Waits until all screenshots are written.
+   */
+  private void waitScreenshotsSaved() {
+    try {
+      WRITER.submit(() -> {
+      }).get();
+    } catch (InterruptedException | ExecutionException e) {
+      Debug.error("Recorder: waiting for screenshots: %s", e.getMessage());
+    }
+  }
+
   private Screen getRelevantScreen() {
     return currentMousePos.getMonitor();
   }
@@ -169,6 +224,7 @@ public class Recorder implements NativeKeyListener, NativeMouseListener, NativeM
 
       eventsFlow.clear();
       currentImage = null;
+      currentImageHashes = null;
       currentImageFilePath = null;
 
       try {
@@ -205,6 +261,7 @@ public class Recorder implements NativeKeyListener, NativeMouseListener, NativeM
       Recorder.unregisterNativeHook();
 
       synchronized (screenshotDir) {
+        waitScreenshotsSaved();
         List<IRecordedAction> actions = eventsFlow.compile(progress);
 
         // remove screenshots after compile to free up disk space
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2010-2021, sikuli.org, sikulix.com - MIT license
+ */
+package org.sikuli.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.sikuli.script.Finder;
+import org.sikuli.script.Match;
+import org.sikuli.script.Pattern;
+import org.sikuli.script.ScreenImage;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * one step of Region.find: a Finder for a screen capture (INT_RGB as returned by Robot.createScreenCapture),
+ * find the button, destroy the Finder
+ * <br>to be run with -prof gc: gc.alloc.rate.norm shows the Java heap allocated per find
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CaptureFindBenchmark {
+
+  private ScreenImage capture;
+  private Pattern pattern;
+
+  @Setup
+  public void setup() {
+    BufferedImage screenshot = Corpus.getScreenshot(BufferedImage.TYPE_INT_RGB);
+    capture = new ScreenImage(new Rectangle(0, 0, Corpus.WIDTH, Corpus.HEIGHT), screenshot);
+    pattern = Corpus.getPattern(Corpus.Target.COLOR);
+  }
+
+  @Benchmark
+  public Match find() {
+    Finder finder = new Finder(capture);
+    try {
+      finder.find(pattern);
+      return finder.hasNext() ? finder.next() : null;
+    } finally {
+      finder.destroy();
+    }
+  }
+}
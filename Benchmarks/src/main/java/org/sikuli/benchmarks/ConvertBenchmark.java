@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2010-2021, sikuli.org, sikulix.com - MIT license
+ */
+package org.sikuli.benchmarks;
+
+import org.opencv.core.Mat;
+import org.openjdk.jmh.annotations.*;
+import org.sikuli.support.Commons;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the conversions BufferedImage to Mat (Commons.makeMat) and back (Commons.getBufferedImage),
+ * back also through an in-memory PNG for comparison
+ * <br>INT_RGB is what Robot.createScreenCapture returns
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ConvertBenchmark {
+
+  @Param({"INT_RGB", "3BYTE_BGR", "4BYTE_ABGR"})
+  public String type;
+
+  private BufferedImage screenshot;
+  private Mat mat;
+
+  @Setup
+  public void setup() {
+    Commons.loadOpenCV();
+    int imgType = BufferedImage.TYPE_INT_RGB;
+    if ("3BYTE_BGR".equals(type)) {
+      imgType = BufferedImage.TYPE_3BYTE_BGR;
+    } else if ("4BYTE_ABGR".equals(type)) {
+      imgType = BufferedImage.TYPE_4BYTE_ABGR;
+    }
+    screenshot = Corpus.getScreenshot(imgType);
+    mat = Commons.makeMat(screenshot, false);
+  }
+
+  // given back as Finder does with its base (INT_RGB: the Mat is reused)
+  @Benchmark
+  public int makeMat() {
+    Mat converted = Commons.makeMat(screenshot, false);
+    int rows = converted.rows();
+    Commons.releaseMat(converted);
+    return rows;
+  }
+
+  @Benchmark
+  public BufferedImage getBufferedImage() {
+    return Commons.getBufferedImage(mat);
+  }
+
+  // the former way for all Mats: encode as PNG (imencode) and decode with ImageIO
+  @Benchmark
+  public BufferedImage getBufferedImagePNG() {
+    return Commons.getBufferedImage(mat, Commons.dotPNG);
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2010-2021, sikuli.org, sikulix.com - MIT license
+ */
+package org.sikuli.benchmarks;
+
+import org.sikuli.basics.Settings;
+import org.sikuli.script.Pattern;
+import org.sikuli.support.Commons;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * the fixed corpus for the benchmarks: a synthetic screenshot (always the same pixels)
+ * with windows, buttons, text and icons and the patterns cut from it
+ * <br>no real screen needed (runs headless)
+ */
+public class Corpus {
+
+  public static final int WIDTH = 1280;
+  public static final int HEIGHT = 800;
+
+  static final Rectangle BUTTON = new Rectangle(220, 330, 90, 28);
+  static final Rectangle ICON = new Rectangle(40, 40, 32, 32);
+  static final Rectangle PLAIN = new Rectangle(700, 500, 40, 30);
+
+  /**
+   * the kinds of targets searched in the screenshot
+   */
+  public enum Target {
+    COLOR, GRAY, MASKED, PLAIN
+  }
+
+  private static BufferedImage screenshot = null;
+
+  static {
+    Settings.ActionLogs = false;
+    Settings.InfoLogs = false;
+    Settings.DebugLogs = false;
+    Commons.loadOpenCV();
+  }
+
+  /**
+   * @return the screenshot (TYPE_3BYTE_BGR, WIDTH x HEIGHT)
+   */
+  public static synchronized BufferedImage getScreenshot() {
+    if (screenshot == null) {
+      screenshot = makeScreenshot(BufferedImage.TYPE_3BYTE_BGR, 0);
+    }
+    return screenshot;
+  }
+
+  /**
+   * @param type BufferedImage type
+   * @param seed 0 for the screenshot, others for variants (e.g. to compare)
+   * @return a new screenshot
+   */
+  public static BufferedImage makeScreenshot(int type, int seed) {
+    Random random = new Random(4711 + seed);
+    BufferedImage img = new BufferedImage(WIDTH, HEIGHT, type);
+    Graphics2D g = img.createGraphics();
+    g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    g.setPaint(new GradientPaint(0, 0, new Color(40, 70, 120), WIDTH, HEIGHT, new Color(90, 140, 200)));
+    g.fillRect(0, 0, WIDTH, HEIGHT);
+    for (int n = 0; n < 12; n++) {
+      g.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+      g.fill(new Rectangle(ICON.x, ICON.y + n * 56, ICON.width, ICON.height));
+      g.setColor(Color.WHITE);
+      g.fillOval(ICON.x + 6, ICON.y + n * 56 + 6, 20, 20);
+      g.setColor(Color.BLACK);
+      g.drawString("" + (char) ('A' + n), ICON.x + 12, ICON.y + n * 56 + 21);
+    }
+    g.setColor(new Color(236, 236, 236));
+    g.fillRect(160, 60, 1000, 680);
+    g.setColor(new Color(60, 60, 60));
+    g.fillRect(160, 60, 1000, 24);
+    g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 14));
+    for (int line = 0; line < 14; line++) {
+      g.setColor(Color.BLACK);
+      g.drawString(String.format("Line %d: the quick brown fox jumps over the lazy dog %d", line, random.nextInt(1000)),
+          200, 120 + line * 22);
+    }
+    for (int n = 0; n < 8; n++) {
+      int x = BUTTON.x + n * 110;
+      g.setColor(new Color(200, 210, 225));
+      g.fillRoundRect(x, BUTTON.y + 120, BUTTON.width, BUTTON.height, 8, 8);
+      g.setColor(Color.BLACK);
+      g.drawString("Button " + n, x + 18, BUTTON.y + 139);
+    }
+    g.setColor(new Color(200, 210, 225));
+    g.fillRoundRect(BUTTON.x, BUTTON.y, BUTTON.width, BUTTON.height, 8, 8);
+    g.setColor(Color.BLACK);
+    g.drawString("OK", BUTTON.x + 36, BUTTON.y + 19);
+    g.dispose();
+    return img;
+  }
+
+  /**
+   * @param target the kind of target
+   * @return a new pattern cut from the screenshot
+   */
+  public static Pattern getPattern(Target target) {
+    BufferedImage shot = getScreenshot();
+    if (Target.GRAY.equals(target)) {
+      return new Pattern(convert(shot.getSubimage(BUTTON.x, BUTTON.y, BUTTON.width, BUTTON.height),
+          BufferedImage.TYPE_BYTE_GRAY));
+    } else if (Target.MASKED.equals(target)) {
+      BufferedImage icon = convert(shot.getSubimage(ICON.x, ICON.y, ICON.width, ICON.height),
+          BufferedImage.TYPE_4BYTE_ABGR);
+      for (int y = 0; y < icon.getHeight(); y++) {
+        for (int x = 0; x < icon.getWidth(); x++) {
+          if (x < 4 || y < 4 || x >= icon.getWidth() - 4 || y >= icon.getHeight() - 4) {
+            icon.setRGB(x, y, 0);
+          }
+        }
+      }
+      return new Pattern(icon).mask();
+    } else if (Target.PLAIN.equals(target)) {
+      return new Pattern(convert(shot.getSubimage(PLAIN.x, PLAIN.y, PLAIN.width, PLAIN.height),
+          BufferedImage.TYPE_3BYTE_BGR));
+    }
+    return new Pattern(convert(shot.getSubimage(BUTTON.x, BUTTON.y, BUTTON.width, BUTTON.height),
+        BufferedImage.TYPE_3BYTE_BGR));
+  }
+
+  /**
+   * @return the icon used in the toolbar (24 x 24)
+   */
+  public static BufferedImage getToolbarIcon() {
+    Random random = new Random(815);
+    BufferedImage icon = new BufferedImage(24, 24, BufferedImage.TYPE_3BYTE_BGR);
+    for (int y = 0; y < icon.getHeight(); y++) {
+      for (int x = 0; x < icon.getWidth(); x++) {
+        icon.setRGB(x, y, random.nextInt());
+      }
+    }
+    return icon;
+  }
+
+  /**
+   * @param icons number of identical icons (50 per row)
+   * @return a toolbar like image (1600 wide) with the given number of the toolbar icon
+   */
+  public static BufferedImage makeToolbar(int icons) {
+    int rows = (icons + 49) / 50;
+    BufferedImage toolbar = new BufferedImage(1600, 16 + rows * 52, BufferedImage.TYPE_3BYTE_BGR);
+    Graphics2D g = toolbar.createGraphics();
+    g.setColor(new Color(230, 230, 230));
+    g.fillRect(0, 0, toolbar.getWidth(), toolbar.getHeight());
+    BufferedImage icon = getToolbarIcon();
+    for (int n = 0; n < icons; n++) {
+      g.drawImage(icon, 8 + (n % 50) * 32, 8 + (n / 50) * 52, null);
+    }
+    g.dispose();
+    return toolbar;
+  }
+
+  /**
+   * @param type BufferedImage type
+   * @return a new copy of the screenshot with the given type
+   */
+  public static BufferedImage getScreenshot(int type) {
+    return convert(getScreenshot(), type);
+  }
+
+  static BufferedImage convert(BufferedImage img, int type) {
+    BufferedImage converted = new BufferedImage(img.getWidth(), img.getHeight(), type);
+    Graphics2D g = converted.createGraphics();
+    g.drawImage(img, 0, 0, null);
+    g.dispose();
+    return converted;
+  }
+
+  /**
+   * @param img the image
+   * @return a new png file in a temp folder (deleted on exit)
+   * @throws IOException if not possible
+   */
+  public static File save(BufferedImage img) throws IOException {
+    File folder = Files.createTempDirectory("sikulixbenchmarks").toFile();
+    folder.deleteOnExit();
+    File file = new File(folder, "pattern.png");
+    ImageIO.write(img, "png", file);
+    file.deleteOnExit();
+    return file;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2010-2021, sikuli.org, sikulix.com - MIT license
+ */
+package org.sikuli.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.sikuli.script.Finder;
+import org.sikuli.script.Match;
+import org.sikuli.script.Pattern;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finder.find with and without the downsized search in the corpus screenshot<br>
+ * the setup fails, if the downsized search does not give the same match as the full resolution search
+ * (the corpus contains near duplicates of the button)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class DownsizedBenchmark {
+
+  @Param({"COLOR", "GRAY"})
+  public Corpus.Target target;
+
+  @Param({"true", "false"})
+  public boolean downsized;
+
+  private BufferedImage screenshot;
+  private Pattern pattern;
+
+  @Setup
+  public void setup() {
+    screenshot = Corpus.getScreenshot();
+    Match full = find(Corpus.getPattern(target).downsized(false));
+    Match down = find(Corpus.getPattern(target).downsized(true));
+    if (full == null || down == null || full.x != down.x || full.y != down.y
+        || Math.abs(full.getScore() - down.getScore()) > 1e-4) {
+      throw new IllegalStateException(String.format("%s: downsized %s not same as full resolution %s",
+          target, down, full));
+    }
+    pattern = Corpus.getPattern(target).downsized(downsized);
+  }
+
+  private Match find(Pattern pattern) {
+    Finder finder = new Finder(screenshot);
+    try {
+      finder.find(pattern);
+      return finder.hasNext() ? finder.next() : null;
+    } finally {
+      finder.destroy();
+    }
+  }
+
+  @Benchmark
+  public Match find() {
+    return find(pattern);
+  }
+}
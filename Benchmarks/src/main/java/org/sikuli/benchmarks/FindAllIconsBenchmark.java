@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2010-2021, sikuli.org, sikulix.com - MIT license
+ */
+package org.sikuli.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.sikuli.script.Finder;
+import org.sikuli.script.Match;
+import org.sikuli.script.Pattern;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finder.findAll in a toolbar with many identical icons (cost of collecting N matches)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class FindAllIconsBenchmark {
+
+  @Param({"20", "200"})
+  public int icons;
+
+  private BufferedImage toolbar;
+  private Pattern pattern;
+
+  @Setup
+  public void setup() {
+    toolbar = Corpus.makeToolbar(icons);
+    pattern = new Pattern(Corpus.getToolbarIcon());
+  }
+
+  @Benchmark
+  public List<Match> findAll() {
+    Finder finder = new Finder(toolbar);
+    List<Match> matches;
+    try {
+      finder.findAll(pattern);
+      matches = finder.getList();
+    } finally {
+      finder.destroy();
+    }
+    if (matches.size() != icons) {
+      throw new IllegalStateException(String.format("findAll: %d of %d icons", matches.size(), icons));
+    }
+    return matches;
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2010-2021, sikuli.org, sikulix.com - MIT license
+ */
+package org.sikuli.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.sikuli.script.Finder;
+import org.sikuli.script.Match;
+import org.sikuli.script.Pattern;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finder.find and Finder.findAll in the corpus screenshot for the different kinds of targets
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class FinderBenchmark {
+
+  @Param({"COLOR", "GRAY", "MASKED", "PLAIN"})
+  public Corpus.Target target;
+
+  private BufferedImage screenshot;
+  private Pattern pattern;
+
+  @Setup
+  public void setup() {
+    screenshot = Corpus.getScreenshot();
+    pattern = Corpus.getPattern(target);
+  }
+
+  @Benchmark
+  public Match find() {
+    Finder finder = new Finder(screenshot);
+    try {
+      finder.find(pattern);
+      return finder.hasNext() ? finder.next() : null;
+    } finally {
+      finder.destroy();
+    }
+  }
+
+  @Benchmark
+  public List<Match> findAll() {
+    Finder finder = new Finder(screenshot);
+    try {
+      finder.findAll(pattern);
+      return finder.getList();
+    } finally {
+      finder.destroy();
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2010-2021, sikuli.org, sikulix.com - MIT license
+ */
+package org.sikuli.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.sikuli.script.Image;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Image.create and Image.get for an image file already in the cache
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ImageCacheBenchmark {
+
+  private String fileName;
+
+  @Setup
+  public void setup() throws IOException {
+    File file = Corpus.save(Corpus.getPattern(Corpus.Target.COLOR).getBImage());
+    fileName = file.getAbsolutePath();
+    if (!Image.create(fileName).isValid()) {
+      throw new IllegalStateException("ImageCacheBenchmark: not valid: " + fileName);
+    }
+  }
+
+  @Benchmark
+  public BufferedImage createAndGet() {
+    return Image.create(fileName).get();
+  }
+}
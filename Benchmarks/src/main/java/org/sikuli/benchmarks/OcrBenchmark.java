@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2010-2021, sikuli.org, sikulix.com - MIT license
+ */
+package org.sikuli.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.sikuli.script.Match;
+import org.sikuli.script.OCR;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * reading the text items (words and lines) of the corpus screenshot's text area
+ * (TextRecognizer.readTextItems via OCR.readWords/readLines)
+ * <br>needs Tesseract to be available (see OCR)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class OcrBenchmark {
+
+  private BufferedImage textArea;
+
+  @Setup
+  public void setup() {
+    textArea = Corpus.getScreenshot().getSubimage(180, 100, 700, 320);
+  }
+
+  @Benchmark
+  public List<Match> readWords() {
+    return OCR.readWords(textArea);
+  }
+
+  @Benchmark
+  public List<Match> readLines() {
+    return OCR.readLines(textArea);
+  }
+}
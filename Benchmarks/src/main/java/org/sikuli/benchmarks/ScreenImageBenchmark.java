@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2010-2021, sikuli.org, sikulix.com - MIT license
+ */
+package org.sikuli.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.sikuli.script.ScreenImage;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScreenImage.diffPercentage for two captures (INT_RGB as from Robot) of the same size
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ScreenImageBenchmark {
+
+  private ScreenImage previous;
+  private ScreenImage next;
+
+  @Setup
+  public void setup() {
+    Rectangle rect = new Rectangle(0, 0, Corpus.WIDTH, Corpus.HEIGHT);
+    previous = new ScreenImage(rect, Corpus.getScreenshot(BufferedImage.TYPE_INT_RGB));
+    next = new ScreenImage(rect, Corpus.makeScreenshot(BufferedImage.TYPE_INT_RGB, 1));
+  }
+
+  @Benchmark
+  public double diffPercentage() {
+    return previous.diffPercentage(next);
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2010-2021, sikuli.org, sikulix.com - MIT license
+ */
+package org.sikuli.support.ide;
+
+import org.python.core.BytecodeLoader;
+import org.python.core.PyCode;
+import org.python.core.PySystemState;
+import org.python.core.imp;
+import org.sikuli.basics.Debug;
+import org.sikuli.support.Commons;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * INTERNAL USE ONLY --- NOT part of the official API
+ * compiled Python scripts in SikulixStore/JythonCache, named by the hash of source and Jython version<br>
+ * a script, that did not change, is not compiled again (even after a restart)<br>
+ * the code objects of the last used scripts are kept in memory (each load defines a new class)
+ */
+public class JythonCodeCache {
+
+  private static final String me = "JythonCodeCache: ";
+  private static final int lvl = 3;
+
+  private static void log(int level, String message, Object... args) {
+    Debug.logx(level, me + message, args);
+  }
+
+  private static final String CACHE_FOLDER = "JythonCache";
+  private static final int MAX_FILES = 256;
+  private static final int MAX_CODES = 64;
+
+  private static File cacheFolder = null;
+  private static String versionKey = null;
+
+  private static final Map<String, PyCode> codes = new LinkedHashMap<String, PyCode>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, PyCode> eldest) {
+      return size() > MAX_CODES;
+    }
+  };
+
+  // the scripts being loaded now (guarded by codes)
+  private static final Map<String, CompletableFuture<PyCode>> loading = new HashMap<>();
+
+  private JythonCodeCache() {
+  }
+
+  /**
+   * the compiled code of the script: from memory, from the cache folder or compiled now (and cached)<br>
+   * a script is loaded only once at the same time (others wait for it), different scripts in parallel
+   *
+   * @param pyFile the .py file
+   * @return the code to be executed or null (not readable or not compilable: use execfile)
+   */
+  public static PyCode getCode(File pyFile) {
+    byte[] source;
+    try {
+      source = Files.readAllBytes(pyFile.toPath());
+    } catch (Exception ex) {
+      log(-1, "not readable: %s (%s)", pyFile, ex.getMessage());
+      return null;
+    }
+    String key = makeKey(source);
+    if (key == null) {
+      return null;
+    }
+    String filename = pyFile.getAbsolutePath();
+    String codeKey = key + filename;
+    CompletableFuture<PyCode> future;
+    boolean isLoader = false;
+    synchronized (codes) {
+      PyCode code = codes.get(codeKey);
+      if (code != null) {
+        return code;
+      }
+      future = loading.get(codeKey);
+      if (future == null) {
+        future = new CompletableFuture<>();
+        loading.put(codeKey, future);
+        isLoader = true;
+      }
+    }
+    if (!isLoader) {
+      return future.join();
+    }
+    PyCode code = null;
+    try {
+      code = loadCode(pyFile, source, key, filename);
+    } finally {
+      synchronized (codes) {
+        if (code != null) {
+          codes.put(codeKey, code);
+        }
+        loading.remove(codeKey);
+      }
+      future.complete(code);
+    }
+    return code;
+  }
+
+  // from the cache folder or compiled now (and stored there)
+  private static PyCode loadCode(File pyFile, byte[] source, String key, String filename) {
+    String className = "sx" + key + "$py";
+    File cached = new File(getCacheFolder(), className + ".class");
+    byte[] data = null;
+    if (cached.exists()) {
+      try {
+        data = Files.readAllBytes(cached.toPath());
+        cached.setLastModified(System.currentTimeMillis());
+      } catch (Exception ex) {
+        log(-1, "not readable: %s (%s)", cached, ex.getMessage());
+      }
+    }
+    long start = System.currentTimeMillis();
+    boolean compiled = false;
+    if (data == null) {
+      try {
+        data = imp.compileSource("sx" + key, new ByteArrayInputStream(source), filename);
+        compiled = true;
+      } catch (Exception ex) {
+        // syntax errors are reported by execfile as usual
+        log(lvl, "not compiled: %s (%s)", pyFile, ex.getMessage());
+        return null;
+      }
+    }
+    PyCode code;
+    try {
+      code = BytecodeLoader.makeCode(className, data, filename);
+    } catch (Exception ex) {
+      log(-1, "not loadable: %s (%s)", cached, ex.getMessage());
+      cached.delete();
+      return null;
+    }
+    if (compiled) {
+      log(lvl, "compiled: %s (%d msec)", pyFile, System.currentTimeMillis() - start);
+      store(cached, data);
+    } else {
+      log(lvl + 1, "from cache: %s", pyFile);
+    }
+    return code;
+  }
+
+  // the hash of Jython version, compiler API version and source
+  private static String makeKey(byte[] source) {
+    if (versionKey == null) {
+      versionKey = PySystemState.version + "-" + imp.getAPIVersion();
+    }
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(versionKey.getBytes(StandardCharsets.UTF_8));
+      digest.update(source);
+      StringBuilder key = new StringBuilder();
+      for (byte b : Arrays.copyOf(digest.digest(), 16)) {
+        key.append(String.format("%02x", b));
+      }
+      return key.toString();
+    } catch (Exception ex) {
+      log(-1, "no hash: %s", ex.getMessage());
+      return null;
+    }
+  }
+
+  private static File getCacheFolder() {
+    if (cacheFolder == null) {
+      cacheFolder = new File(Commons.getAppDataStore(), CACHE_FOLDER);
+      cacheFolder.mkdirs();
+    }
+    return cacheFolder;
+  }
+
+  // written to a temp file, that is renamed (other processes might use the cache at the same time)
+  private static void store(File cached, byte[] data) {
+    File tmpFile = null;
+    try {
+      tmpFile = File.createTempFile(cached.getName() + "-", ".tmp", getCacheFolder());
+      try (OutputStream outStream = new FileOutputStream(tmpFile)) {
+        outStream.write(data);
+      }
+      Files.move(tmpFile.toPath(), cached.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    } catch (Exception ex) {
+      if (tmpFile != null) {
+        tmpFile.delete();
+      }
+      log(-1, "not stored: %s (%s)", cached, ex.getMessage());
+      return;
+    }
+    prune();
+  }
+
+  // only the MAX_FILES last used are kept
+  private static void prune() {
+    File[] files = getCacheFolder().listFiles((dir, name) -> name.endsWith("$py.class"));
+    if (files == null || files.length <= MAX_FILES) {
+      return;
+    }
+    Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+    for (int n = 0; n < files.length - MAX_FILES; n++) {
+      files[n].delete();
+    }
+  }
+}
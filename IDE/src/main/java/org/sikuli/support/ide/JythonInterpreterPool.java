@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2010-2021, sikuli.org, sikulix.com - MIT license
+ */
+package org.sikuli.support.ide;
+
+import org.python.core.Py;
+import org.python.core.PyCode;
+import org.python.core.PyException;
+import org.python.core.PyInteger;
+import org.python.core.PyList;
+import org.python.core.PyLong;
+import org.python.core.PyObject;
+import org.python.core.PyStringMap;
+import org.python.core.PySystemState;
+import org.python.util.PythonInterpreter;
+import org.sikuli.basics.Debug;
+import org.sikuli.script.ImagePath;
+import org.sikuli.support.devices.Devices;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * INTERNAL USE ONLY --- NOT part of the official API
+ * a pool of warm Jython interpreters, that run Python scripts in parallel (used by SikulixServer)<br>
+ * each interpreter has its own sys.path, sys.argv, sys.modules and globals,
+ * each script its own bundle path (ImagePath.setThreadBundleFolder)<br>
+ * scripts using mouse or keyboard take the desktop with their first action
+ * and keep it until they end (Devices.desktopLockOnInput)<br>
+ * switched on with -Dsikuli.ServerPool=n (n interpreters)
+ */
+public class JythonInterpreterPool {
+
+  private static final String me = "JythonPool: ";
+  private static final int lvl = 3;
+
+  private static void log(int level, String message, Object... args) {
+    Debug.logx(level, me + message, args);
+  }
+
+  public static final String PROPERTY = "sikuli.ServerPool";
+
+  /**
+   * @return the number of interpreters given with -Dsikuli.ServerPool=n (0 = no pool)
+   */
+  public static int getConfiguredSize() {
+    String size = System.getProperty(PROPERTY);
+    if (size == null || size.isEmpty()) {
+      return 0;
+    }
+    try {
+      return Math.max(0, Integer.parseInt(size.trim()));
+    } catch (NumberFormatException ex) {
+      log(-1, "%s: not a number: %s (pool not used)", PROPERTY, size);
+      return 0;
+    }
+  }
+
+  private final int size;
+  private final LinkedBlockingQueue<PooledInterpreter> idle = new LinkedBlockingQueue<>();
+  private final ExecutorService executor;
+  private final CountDownLatch warmedUp = new CountDownLatch(1);
+  private final AtomicInteger ready = new AtomicInteger(0);
+  private List<String> sysPath = null;
+
+  public JythonInterpreterPool(int size) {
+    this.size = size;
+    AtomicInteger count = new AtomicInteger(0);
+    executor = Executors.newFixedThreadPool(size, runnable -> {
+      Thread worker = new Thread(runnable, "SikuliX-JythonPool-" + count.incrementAndGet());
+      worker.setDaemon(true);
+      return worker;
+    });
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * @return the number of usable interpreters (0 before or after a failed warm up)
+   */
+  public int getReady() {
+    return ready.get();
+  }
+
+  /**
+   * creates the interpreters (to be called after the JythonRunner is initialized)<br>
+   * an interpreter, that cannot be created, is left out
+   */
+  public void warmUp() {
+    try {
+      PySystemState mainState = JythonSupport.get().interpreterGet().getSystemState();
+      List<String> mainPath = new ArrayList<>();
+      for (Object entry : mainState.path) {
+        mainPath.add(entry.toString());
+      }
+      sysPath = mainPath;
+      for (int n = 0; n < size; n++) {
+        long start = System.currentTimeMillis();
+        try {
+          idle.add(new PooledInterpreter(sysPath));
+        } catch (Exception ex) {
+          log(-1, "warmUp: interpreter %d: %s", n + 1, ex);
+          continue;
+        }
+        ready.incrementAndGet();
+        log(lvl, "warmUp: interpreter %d of %d ready (%d msec)", n + 1, size, System.currentTimeMillis() - start);
+      }
+    } catch (Exception ex) {
+      log(-1, "warmUp: %s", ex);
+    } finally {
+      warmedUp.countDown();
+    }
+    if (ready.get() == 0) {
+      log(-1, "warmUp: no interpreter - scripts are run without the pool");
+    }
+  }
+
+  /**
+   * waits until the warm up is done
+   *
+   * @return true if at least one interpreter is usable (else scripts must be run without the pool)
+   */
+  public boolean awaitReady() {
+    try {
+      warmedUp.await();
+    } catch (InterruptedException ex) {
+      return false;
+    }
+    return ready.get() > 0;
+  }
+
+  /**
+   * runs the task in one of the pool threads (a pool thread runs one script at a time)
+   *
+   * @param task the task (usually calling runScript())
+   */
+  public void execute(Runnable task) {
+    executor.execute(task);
+  }
+
+  /**
+   * runs the script in an idle interpreter (waits for one)<br>
+   * an interpreter, that is not usable anymore after the script, is replaced by a new one
+   *
+   * @param pyFile the .py file
+   * @param argv   the script's arguments (sys.argv[1:])
+   * @return the exit code (-1 if interrupted while waiting or no interpreter usable anymore)
+   */
+  public int runScript(File pyFile, String[] argv) {
+    PooledInterpreter pooled = null;
+    try {
+      while (pooled == null) {
+        if (warmedUp.getCount() == 0 && ready.get() == 0) {
+          log(-1, "%s: not run: no interpreter usable", pyFile.getName());
+          return -1;
+        }
+        pooled = idle.poll(1, TimeUnit.SECONDS);
+      }
+    } catch (InterruptedException ex) {
+      return -1;
+    }
+    int exitCode;
+    try {
+      exitCode = pooled.run(pyFile, argv);
+    } catch (Throwable ex) {
+      log(-1, "%s: interpreter not usable anymore: %s", pyFile.getName(), ex);
+      replace();
+      return 1;
+    }
+    idle.add(pooled);
+    return exitCode;
+  }
+
+  private void replace() {
+    try {
+      idle.add(new PooledInterpreter(sysPath));
+      log(lvl, "replacement interpreter ready");
+    } catch (Exception ex) {
+      ready.decrementAndGet();
+      log(-1, "no replacement interpreter (%d usable): %s", ready.get(), ex);
+    }
+  }
+
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  private static class PooledInterpreter {
+    private final PythonInterpreter interpreter;
+    private final PySystemState state;
+    private final List<String> sysPath;
+    private final Set<String> modules = new HashSet<>();
+
+    PooledInterpreter(List<String> sysPath) {
+      this.sysPath = sysPath;
+      state = new PySystemState();
+      interpreter = new PythonInterpreter(null, state);
+      resetSysPath();
+      interpreter.exec("import sys");
+      interpreter.exec("from sikuli import *");
+      for (Object name : ((PyList) state.modules.invoke("keys"))) {
+        modules.add(name.toString());
+      }
+    }
+
+    int run(File pyFile, String[] argv) {
+      File scriptFolder = pyFile.getAbsoluteFile().getParentFile();
+      resetSysPath();
+      state.path.insert(0, Py.newStringOrUnicode(scriptFolder.getAbsolutePath()));
+      state.argv.clear();
+      state.argv.add(pyFile.getAbsolutePath());
+      if (argv != null) {
+        state.argv.addAll(Arrays.asList(argv));
+      }
+      PyStringMap globals = new PyStringMap();
+      globals.__setitem__("__name__", Py.newString("__main__"));
+      interpreter.setLocals(globals);
+      ImagePath.setThreadBundleFolder(scriptFolder);
+      Devices.desktopLockOnInput();
+      int exitCode = 0;
+      try {
+        for (String line : JythonSupport.SCRIPT_HEADER) {
+          interpreter.exec(line);
+        }
+        PyCode pyCode = JythonCodeCache.getCode(pyFile);
+        if (pyCode == null) {
+          interpreter.execfile(pyFile.getAbsolutePath());
+        } else {
+          interpreter.exec(pyCode);
+        }
+      } catch (PyException pyException) {
+        if (pyException.match(Py.SystemExit)) {
+          exitCode = getExitCode(pyException);
+        } else {
+          exitCode = 1;
+          log(-1, "%s: %s", pyFile.getName(), pyException);
+        }
+      } catch (Throwable scriptException) {
+        exitCode = 1;
+        log(-1, "%s: %s", pyFile.getName(), scriptException);
+      } finally {
+        Devices.desktopRelease();
+        ImagePath.setThreadBundleFolder(null);
+      }
+      // might fail with a broken interpreter (then replaced)
+      interpreter.cleanup();
+      resetModules();
+      return exitCode;
+    }
+
+    // as Jython handles sys.exit(): None is 0, an integer is the exit code, anything else is 1
+    private int getExitCode(PyException exit) {
+      PyObject value = exit.value;
+      if (PyException.isExceptionInstance(value)) {
+        value = value.__findattr__("code");
+      }
+      if (value == null || value == Py.None) {
+        return 0;
+      }
+      if (value instanceof PyInteger || value instanceof PyLong) {
+        return value.asInt();
+      }
+      log(lvl, "exit: %s", value);
+      return 1;
+    }
+
+    private void resetSysPath() {
+      state.path.clear();
+      for (String entry : sysPath) {
+        state.path.add(Py.newStringOrUnicode(entry));
+      }
+    }
+
+    // the modules imported by the script are imported again by the next script
+    private void resetModules() {
+      for (Object name : ((PyList) state.modules.invoke("keys"))) {
+        if (!modules.contains(name.toString())) {
+          state.modules.__delitem__((PyObject) Py.java2py(name));
+        }
+      }
+    }
+  }
+}
@@ -6,9 +6,12 @@ package org.sikuli.support.ide;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.python.core.BytecodeLoader;
+import org.python.core.Py;
 import org.python.core.PyCode;
 import org.python.core.PyList;
+import org.python.core.PyObject;
 import org.python.core.PySystemState;
+import org.python.core.imp;
 import org.python.util.PythonInterpreter;
 import org.sikuli.basics.Debug;
 import org.sikuli.support.FileManager;
@@ -355,7 +358,12 @@ public class JythonSupport implements IRunnerSupport {
   }
 
   public void interpreterExecFile(String script) {
-    interpreter.execfile(script);
+    PyCode pyCode = JythonCodeCache.getCode(new File(script));
+    if (pyCode == null) {
+      interpreter.execfile(script);
+    } else {
+      interpreter.exec(pyCode);
+    }
   }
 
   public void executeScriptHeader(List<String> codeBefore) {
@@ -374,7 +382,7 @@ public class JythonSupport implements IRunnerSupport {
   /**
    * The header commands, that are executed before every script
    */
-  private static String[] SCRIPT_HEADER = new String[]{
+  static String[] SCRIPT_HEADER = new String[]{
           "# -*- coding: utf-8 -*- ",
           "import time; start = time.time()",
           "from sikuli import *",
@@ -586,9 +594,18 @@ public class JythonSupport implements IRunnerSupport {
     if (lastRun > 0) {
       for (File fMod : importedScripts) {
         name = getPyName(fMod);
-        if (new File(fMod, name + ".py").lastModified() > lastRun) {
+        File pyFile = new File(fMod, name + ".py");
+        if (pyFile.lastModified() > lastRun) {
           log(lvl, "reload: %s", fMod);
-          interpreterExecString("reload(" + name + ")");
+          PyObject module = interpreter.getSystemState().modules.__finditem__(name);
+          PyCode pyCode = module == null ? null : JythonCodeCache.getCode(pyFile);
+          if (pyCode == null) {
+            interpreterExecString("reload(" + name + ")");
+          } else {
+            // as reload(): the module's code is run again in the module's namespace
+            PyObject moduleDict = module.__getattr__("__dict__");
+            Py.runCode(pyCode, moduleDict, moduleDict);
+          }
         }
         ;
       }
@@ -651,6 +668,27 @@ public class JythonSupport implements IRunnerSupport {
     return modName;
   }
 
+  /**
+   * the module of a .sikuli folder from the compiled code in the JythonCodeCache
+   * (as imp.load_module: added to sys.modules, __file__ set, the code run in the module's namespace)
+   *
+   * @param modName the module name (as returned by loadModulePrepare)
+   * @param modPath the .sikuli folder
+   * @return the module or null (not readable or not compilable: to be imported as usual)
+   */
+  public PyObject loadModuleCached(String modName, String modPath) {
+    File pyFile = new File(modPath, modName + ".py");
+    if (!pyFile.exists()) {
+      return null;
+    }
+    PyCode pyCode = JythonCodeCache.getCode(pyFile);
+    if (pyCode == null) {
+      return null;
+    }
+    log(lvl + 1, "loadModuleCached: %s", pyFile);
+    return imp.createFromCode(modName, pyCode, pyFile.getAbsolutePath());
+  }
+
   private File existsModule(String mName, File fFolder) {
     if (mName.endsWith(".sikuli") || mName.endsWith(".py")) {
       return null;
@@ -13,7 +13,9 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -46,10 +48,13 @@ import io.undertow.server.handlers.resource.ResourceManager;
 import io.undertow.util.AttachmentKey;
 import io.undertow.util.Headers;
 import io.undertow.util.Methods;
+import io.undertow.util.SameThreadExecutor;
 import io.undertow.util.StatusCodes;
 import io.undertow.util.URLUtils;
 import org.sikuli.support.Commons;
 import org.sikuli.support.RunTime;
+import org.sikuli.support.devices.Devices;
+import org.sikuli.support.ide.JythonInterpreterPool;
 import org.sikuli.support.ide.Runner;
 import org.sikuli.util.CommandArgsEnum;
 
@@ -64,6 +69,8 @@ public class SikulixServer {
   }
 
   private static Undertow server = null;
+  // -Dsikuli.ServerPool=n: Python scripts are run in parallel by n warm interpreters
+  private static JythonInterpreterPool interpreterPool = null;
   private static boolean isHandling = false;
   private static boolean shouldStop = false;
   private static Object lock = new Object();
@@ -138,6 +145,18 @@ public class SikulixServer {
     }
   }
 
+  private static int getIntProperty(String name, int defaultValue) {
+    String value = System.getProperty(name);
+    if (value != null) {
+      try {
+        return Integer.parseInt(value.trim());
+      } catch (NumberFormatException ex) {
+        dolog(-1, "%s: not a number: %s (using %d)", name, value, defaultValue);
+      }
+    }
+    return defaultValue;
+  }
+
   private static Map<String, File> groups = new HashMap<>();
   private static final String DEFAULT_GROUP = "DEFAULT_GROUP";
 
@@ -244,6 +263,12 @@ public class SikulixServer {
     String extraOption = Commons.getArg(CommandArgsEnum.XTRAS.shortname());
     makeAllowedIPs(extraOption);
 
+    int poolSize = JythonInterpreterPool.getConfiguredSize();
+    if (poolSize > 0) {
+      interpreterPool = new JythonInterpreterPool(poolSize);
+      dolog("Python scripts are run in parallel by %d interpreters", poolSize);
+    }
+
     // start the server
     String theServer = String.format("%s %d", theIP, port);
     isRunning = new File(Commons.getAppDataStore(), "SikulixServer.txt");
@@ -314,6 +339,12 @@ public class SikulixServer {
       dolog("ScriptRunner-%s initialization done [%02d/%02d]", 
             runner.getName(), index.incrementAndGet(), allCount);
     }));
+    if (interpreterPool != null) {
+      executor.submit(() -> {
+        interpreterPool.warmUp();
+        dolog("Jython interpreter pool ready [%d of %d]", interpreterPool.getReady(), interpreterPool.getSize());
+      });
+    }
     executor.shutdown();
   }
 
@@ -382,9 +413,13 @@ public class SikulixServer {
   }
 
   private static class TasksCommand extends AbstractCommand {
+    private static final long CHANGES_TIMEOUT = 30; // seconds
+    private static final long CHANGES_TIMEOUT_MAX = 300; // seconds
+
     public TasksCommand() {
       getRouting()
           .add(Methods.GET, "/tasks", getTasks)
+          .add(Methods.GET, "/tasks/changes", getChanges)
           .add(Methods.GET, "/tasks/{id}", getTask)
           .add(Methods.PUT, "/tasks/{id}/cancel", cancelTask);
     }
@@ -421,11 +456,57 @@ public class SikulixServer {
       sendResponse(exchange, statusCode, responseObject);
     };
 
+    /**
+     * long poll: /tasks/changes?since=n&amp;timeout=secs<br>
+     * returns the tasks changed after change count n (the changeCount of the previous response)
+     * at once or with the next change (after timeout seconds at most, default 30, then with no tasks)<br>
+     * n higher than the server's change count (e.g. after a restart): all tasks at once
+     */
+    private HttpHandler getChanges = exchange -> {
+      long since = getLongParameter(exchange, "since", 0);
+      long timeout = Math.min(Math.max(getLongParameter(exchange, "timeout", CHANGES_TIMEOUT), 0), CHANGES_TIMEOUT_MAX);
+      Optional<String> groupName = Optional.ofNullable(getAttachment(exchange).get(GroupsCommand.ATTACHMENTKEY_GROUPNAME));
+      Optional<String> scriptName = Optional.ofNullable(getAttachment(exchange).get(ScriptsCommand.ATTACHMENTKEY_SCRIPTNAME));
+      AtomicBoolean responded = new AtomicBoolean(false);
+      TaskStore.ChangeConsumer consumer = (changeCount, tasks) -> {
+        if (responded.compareAndSet(false, true)) {
+          exchange.getIoThread().execute(() -> sendResponse(exchange, StatusCodes.OK, new ChangesResponse(changeCount, tasks)));
+        }
+      };
+      exchange.dispatch(SameThreadExecutor.INSTANCE, () -> {
+        if (!getTaskManager().whenChanged(since, groupName, scriptName, consumer)) {
+          exchange.getIoThread().executeAfter(() -> {
+            getTaskManager().stopWaiting(consumer);
+            if (responded.compareAndSet(false, true)) {
+              sendResponse(exchange, StatusCodes.OK,
+                  new ChangesResponse(getTaskManager().getChangeCount(), Collections.emptyList()));
+            }
+          }, timeout, TimeUnit.SECONDS);
+        }
+      });
+    };
+
     private Map<String, Task> getFilteredTasks(final HttpServerExchange exchange) {
-      CommandsAttachment attachment = Optional.ofNullable(exchange.getAttachment(KEY)).orElse(new CommandsAttachment());
+      CommandsAttachment attachment = getAttachment(exchange);
       return getTaskManager().getTasks(Optional.ofNullable(attachment.get(GroupsCommand.ATTACHMENTKEY_GROUPNAME)), 
                                        Optional.ofNullable(attachment.get(ScriptsCommand.ATTACHMENTKEY_SCRIPTNAME)));
     }
+
+    private CommandsAttachment getAttachment(final HttpServerExchange exchange) {
+      return Optional.ofNullable(exchange.getAttachment(KEY)).orElse(new CommandsAttachment());
+    }
+
+    private long getLongParameter(final HttpServerExchange exchange, String name, long defaultValue) {
+      Deque<String> values = exchange.getQueryParameters().get(name);
+      if (values == null || values.isEmpty()) {
+        return defaultValue;
+      }
+      try {
+        return Long.parseLong(values.getLast());
+      } catch (NumberFormatException ex) {
+        return defaultValue;
+      }
+    }
   }
 
   private static class ScriptsCommand extends AbstractCommand {
@@ -484,42 +565,47 @@ public class SikulixServer {
         return;
       }
 
-      int statusCode = StatusCodes.OK;
-      Object responseObject = null;
-
       if (getTaskManager().isPaused()) {
-        responseObject = new ErrorResponse(String.format("the script execution is paused"));
-        statusCode = StatusCodes.NOT_ACCEPTABLE;
+        sendResponse(exchange, StatusCodes.NOT_ACCEPTABLE, new ErrorResponse(String.format("the script execution is paused")));
       } else {
         String id = generateTaskId(exchange);
         String groupName = getCurrentGroup(exchange);
         String scriptName = exchange.getQueryParameters().get("*").getLast().replaceFirst("/run$", "");
         String[] scriptArgs = getScriptArgs(exchange);
-  
+
+        // the worker thread is not blocked until the script has ended:
+        // the response is sent in the IO thread, when the task is done
         Task task = getTaskManager().requestSync(id, groupName, scriptName, scriptArgs);
-        int retval = task.exitCode;
-        switch(retval) {
-          case Runner.FILE_NOT_FOUND:
-            responseObject = new ErrorResponse(String.format("script not found '%s'", scriptName));
-            statusCode = StatusCodes.NOT_FOUND;
-            break;
-          case Runner.NOT_SUPPORTED:
-            responseObject = new ErrorResponse(String.format("script not supported '%s'", scriptName));
-            statusCode = StatusCodes.NOT_FOUND;
-            break;
-          default:
-            if (retval < 0 || 255 < retval) {
-              responseObject = new ErrorResponse(String.format("script failed exitCode='%d'", retval));
-              statusCode = StatusCodes.SERVICE_UNAVAILABLE;
-            } else {
-              responseObject = task;
-            }
-            break;
-        }  
+        exchange.dispatch(SameThreadExecutor.INSTANCE, () ->
+            task.whenDone(done -> exchange.getIoThread().execute(() -> sendRunResponse(exchange, scriptName, done))));
       }
-      sendResponse(exchange, statusCode, responseObject);
     });
 
+    private void sendRunResponse(HttpServerExchange exchange, String scriptName, Task task) {
+      int statusCode = StatusCodes.OK;
+      Object responseObject;
+      int retval = task.exitCode;
+      switch(retval) {
+        case Runner.FILE_NOT_FOUND:
+          responseObject = new ErrorResponse(String.format("script not found '%s'", scriptName));
+          statusCode = StatusCodes.NOT_FOUND;
+          break;
+        case Runner.NOT_SUPPORTED:
+          responseObject = new ErrorResponse(String.format("script not supported '%s'", scriptName));
+          statusCode = StatusCodes.NOT_FOUND;
+          break;
+        default:
+          if (retval < 0 || 255 < retval) {
+            responseObject = new ErrorResponse(String.format("script failed exitCode='%d'", retval));
+            statusCode = StatusCodes.SERVICE_UNAVAILABLE;
+          } else {
+            responseObject = task;
+          }
+          break;
+      }
+      sendResponse(exchange, statusCode, responseObject);
+    }
+
     private HttpHandler task = exchange -> {
       String id = generateTaskId(exchange);
       String groupName = getCurrentGroup(exchange);
@@ -750,7 +836,7 @@ public class SikulixServer {
   }
 
   private static class TaskManager {
-    private LinkedHashMap<String, Task> allTasks;
+    private TaskStore allTasks;
     private LinkedBlockingDeque<Task> queue;
     private boolean shouldStop;
     private boolean shouldPause;
@@ -758,7 +844,8 @@ public class SikulixServer {
     private ExecutorService executor;
 
     public TaskManager() {
-      allTasks = new LinkedHashMap<>();
+      allTasks = new TaskStore(getIntProperty(TaskStore.PROPERTY_MAX, TaskStore.MAX_TASKS),
+          getIntProperty(TaskStore.PROPERTY_MAX_AGE, TaskStore.MAX_AGE));
       queue = new LinkedBlockingDeque<>();
       shouldStop = false;
       shouldPause = false;
@@ -775,15 +862,24 @@ public class SikulixServer {
             }
             task = queue.take();
             if ("shouldStop".equals(task.id) || "shouldPause".equals(task.id)) {
-              // NOOP
+              task = null;
             } else {
               synchronized(task) {
                 if (task.isWaiting()) {
                   task.updateStatus(Task.Status.RUNNING);
                 }
               }
+              // one change per status change: queued (request), running, ended or canceled (cancel)
               if (task.isRunning()) {
+                changed(task);
+                task.resolveScript();
+                if (interpreterPool != null && task.pyFile != null) {
+                  // the change at the end in the pool thread
+                  runPooled(task);
+                } else {
                   task.runScript();
+                  changed(task);
+                }
               }
             }
           } catch (InterruptedException ex) {
@@ -791,39 +887,56 @@ public class SikulixServer {
           } catch (Exception ex) {
             SikulixServer.dolog(-1, "ScriptExecutor: Exception: %s", ex);
             ex.printStackTrace();
-            if (task != null) {
+            if (task != null && !task.isDone()) {
               task.updateStatus(Task.Status.FAILED);
-            }
-          } finally {
-            if (task != null) {
-              synchronized(task) {
-                task.notify();
-              }
+              changed(task);
             }
           }
         }
       });
     }
 
+    // the status of the task has changed: the waiters for this task or for any change are informed
+    private void changed(final Task task) {
+      allTasks.changed(task);
+    }
+
+    private void runPooled(final Task task) {
+      interpreterPool.execute(() -> {
+        try {
+          task.runPooledScript();
+        } catch (Exception ex) {
+          SikulixServer.dolog(-1, "ScriptExecutor: Exception: %s", ex);
+          ex.printStackTrace();
+          task.updateStatus(Task.Status.FAILED);
+        } finally {
+          changed(task);
+        }
+      });
+    }
+
     public Map<String, Task> getTasks(Optional<String> groupName, Optional<String> scriptName) {
-      LinkedHashMap<String, Task> result = allTasks.entrySet().stream()
-          .filter(e -> {
-            if (groupName.isPresent()) {
-              if (scriptName.isPresent()) {
-                return groupName.get().equals(e.getValue().groupName) && scriptName.get().equals(e.getValue().scriptName);
-              } else {
-                return groupName.get().equals(e.getValue().groupName);
-              }
-            } else {
-              if (scriptName.isPresent()) {
-                return DEFAULT_GROUP.equals(e.getValue().groupName) && scriptName.get().equals(e.getValue().scriptName);
-              } else {
-                return true;
-              }
-            }
-          })
-          .collect(Collectors.toMap(Entry::getKey, Entry::getValue, (oldValue, newValue) -> newValue, LinkedHashMap::new));
-      return Collections.unmodifiableMap(result);
+      return Collections.unmodifiableMap(allTasks.get(groupName, scriptName));
+    }
+
+    /**
+     * the tasks changed after the given change count (long poll: waits for a change, if none yet)
+     *
+     * @param since    the change count from the previous call (0 or higher than the current count: all tasks at once)
+     * @param consumer gets the current change count and the changed tasks (in the thread making the change)
+     * @return false if nothing changed yet: the consumer is called with the next change or never (timeout)
+     */
+    public boolean whenChanged(long since, Optional<String> groupName, Optional<String> scriptName,
+                               final TaskStore.ChangeConsumer consumer) {
+      return allTasks.whenChanged(since, groupName, scriptName, consumer);
+    }
+
+    public void stopWaiting(final TaskStore.ChangeConsumer consumer) {
+      allTasks.stopWaiting(consumer);
+    }
+
+    public long getChangeCount() {
+      return allTasks.getChangeCount();
     }
 
     public Task requestSync(final String id, final String groupName, final String scriptName, final String[] scriptArgs) throws Exception {
@@ -834,19 +947,17 @@ public class SikulixServer {
       return request(id, groupName, scriptName, scriptArgs, true);
     }
 
+    // a sync request returns the queued task itself: the caller waits with Task.whenDone()
     private Task request(final String id, final String groupName, final String scriptName, 
         final String[] scriptArgs, boolean isAsync) throws Exception {
       Task request = new Task(id, groupName, scriptName, scriptArgs, isAsync);
       synchronized(allTasks) {
-        allTasks.put(request.id, request);
+        allTasks.put(request);
         queue.put(request);
       }
+      changed(request);
       if (!isAsync) {
-        synchronized(request) {
-          while(request.isWaiting() || request.isRunning()) {
-            request.wait();
-          }
-        }
+        return request;
       }
       return request.clone();
     }
@@ -854,16 +965,20 @@ public class SikulixServer {
     public boolean cancel(final String id) {
       Task task = allTasks.get(id);
       if (task != null) {
+        boolean canceled = false;
         synchronized (task) {
           if (task.isWaiting()) {
             task.updateStatus(Task.Status.CANCELED);
-            task.notify();
-            return true;
-          } else {
-            SikulixServer.dolog(-1, "could not cancel the task: %s", id);
-            return false;
+            canceled = true;
           }
         }
+        if (canceled) {
+          changed(task);
+          return true;
+        } else {
+          SikulixServer.dolog(-1, "could not cancel the task: %s", id);
+          return false;
+        }
       } else {
         SikulixServer.dolog(-1, "the task is not found: %s", id);
         return false;
@@ -871,6 +986,9 @@ public class SikulixServer {
     }
 
     public void stop() {
+      if (interpreterPool != null) {
+        interpreterPool.stop();
+      }
       shouldStop = true;
       queue.addFirst(new Task("shouldStop", null, null, null, true));
       executor.shutdown();
@@ -912,6 +1030,174 @@ public class SikulixServer {
     }
   }
 
+  /**
+   * the tasks by id with an index by group and script<br>
+   * ended tasks are removed after maxAge seconds or when there are more than maxTasks
+   * (-Dsikuli.ServerTasksMax=n, -Dsikuli.ServerTasksMaxAge=secs)<br>
+   * each status change gets a change count, so clients can ask for the changes since their last call
+   */
+  private static class TaskStore {
+    static final String PROPERTY_MAX = "sikuli.ServerTasksMax";
+    static final String PROPERTY_MAX_AGE = "sikuli.ServerTasksMaxAge";
+    static final int MAX_TASKS = 1000;
+    static final int MAX_AGE = 3600; // seconds
+
+    interface ChangeConsumer {
+      void accept(long changeCount, List<Task> tasks);
+    }
+
+    private static class ChangeWaiter {
+      final long since;
+      final Optional<String> groupName;
+      final Optional<String> scriptName;
+      final ChangeConsumer consumer;
+
+      ChangeWaiter(long since, Optional<String> groupName, Optional<String> scriptName, ChangeConsumer consumer) {
+        this.since = since;
+        this.groupName = groupName;
+        this.scriptName = scriptName;
+        this.consumer = consumer;
+      }
+    }
+
+    private final int maxTasks;
+    private final long maxAge;
+    private final LinkedHashMap<String, Task> tasks = new LinkedHashMap<>();
+    private final Map<String, Set<String>> byGroup = new HashMap<>();
+    private final Map<String, Set<String>> byScript = new HashMap<>();
+    private final List<ChangeWaiter> waiters = new ArrayList<>();
+    private long changeCount = 0;
+
+    TaskStore(int maxTasks, int maxAge) {
+      this.maxTasks = Math.max(1, maxTasks);
+      this.maxAge = Math.max(0, maxAge) * 1000L;
+    }
+
+    private static String scriptKey(String groupName, String scriptName) {
+      return groupName + "\n" + scriptName;
+    }
+
+    synchronized void put(Task task) {
+      tasks.put(task.id, task);
+      byGroup.computeIfAbsent(task.groupName, k -> new LinkedHashSet<>()).add(task.id);
+      byScript.computeIfAbsent(scriptKey(task.groupName, task.scriptName), k -> new LinkedHashSet<>()).add(task.id);
+      evict();
+    }
+
+    synchronized Task get(String id) {
+      return tasks.get(id);
+    }
+
+    // group and script: the script in the group, only script: the script in the default group
+    synchronized LinkedHashMap<String, Task> get(Optional<String> groupName, Optional<String> scriptName) {
+      evict();
+      Collection<String> ids;
+      if (scriptName.isPresent()) {
+        ids = byScript.get(scriptKey(groupName.orElse(DEFAULT_GROUP), scriptName.get()));
+      } else if (groupName.isPresent()) {
+        ids = byGroup.get(groupName.get());
+      } else {
+        return new LinkedHashMap<>(tasks);
+      }
+      LinkedHashMap<String, Task> result = new LinkedHashMap<>();
+      if (ids != null) {
+        for (String id : ids) {
+          result.put(id, tasks.get(id));
+        }
+      }
+      return result;
+    }
+
+    synchronized List<Task> getChanged(long since, Optional<String> groupName, Optional<String> scriptName) {
+      List<Task> changed = new ArrayList<>();
+      for (Task task : get(groupName, scriptName).values()) {
+        if (task.changeCount > since) {
+          changed.add(task);
+        }
+      }
+      return changed;
+    }
+
+    synchronized long getChangeCount() {
+      return changeCount;
+    }
+
+    boolean whenChanged(long since, Optional<String> groupName, Optional<String> scriptName, ChangeConsumer consumer) {
+      List<Task> changed;
+      long count;
+      synchronized (this) {
+        // a count not given by this server (e.g. before a restart): all tasks at once
+        boolean unknown = since > changeCount;
+        changed = getChanged(unknown ? 0 : since, groupName, scriptName);
+        count = changeCount;
+        if (changed.isEmpty() && !unknown) {
+          waiters.add(new ChangeWaiter(since, groupName, scriptName, consumer));
+          return false;
+        }
+      }
+      consumer.accept(count, changed);
+      return true;
+    }
+
+    synchronized void stopWaiting(ChangeConsumer consumer) {
+      waiters.removeIf(waiter -> waiter.consumer == consumer);
+    }
+
+    void changed(Task task) {
+      Map<ChangeWaiter, List<Task>> due = new LinkedHashMap<>();
+      long count;
+      synchronized (this) {
+        count = ++changeCount;
+        task.changeCount = count;
+        if (task.isDone() && task.endDate == null) {
+          task.endDate = new Date();
+        }
+        Iterator<ChangeWaiter> iterator = waiters.iterator();
+        while (iterator.hasNext()) {
+          ChangeWaiter waiter = iterator.next();
+          List<Task> changed = getChanged(waiter.since, waiter.groupName, waiter.scriptName);
+          if (!changed.isEmpty()) {
+            iterator.remove();
+            due.put(waiter, changed);
+          }
+        }
+      }
+      task.changed();
+      for (Entry<ChangeWaiter, List<Task>> entry : due.entrySet()) {
+        entry.getKey().consumer.accept(count, entry.getValue());
+      }
+    }
+
+    // ended tasks: older than maxAge or the oldest, if more than maxTasks
+    private void evict() {
+      long expired = new Date().getTime() - maxAge;
+      int tooMany = tasks.size() - maxTasks;
+      Iterator<Task> iterator = tasks.values().iterator();
+      while (iterator.hasNext()) {
+        Task task = iterator.next();
+        if (!task.isDone() || task.endDate == null) {
+          continue;
+        }
+        if (tooMany > 0 || task.endDate.getTime() < expired) {
+          iterator.remove();
+          tooMany--;
+          remove(byGroup, task.groupName, task.id);
+          remove(byScript, scriptKey(task.groupName, task.scriptName), task.id);
+        }
+      }
+    }
+
+    private static void remove(Map<String, Set<String>> index, String key, String id) {
+      Set<String> ids = index.get(key);
+      if (ids != null) {
+        ids.remove(id);
+        if (ids.isEmpty()) {
+          index.remove(key);
+        }
+      }
+    }
+  }
+
   private static class Task implements Cloneable {
     public final String id;
     public final String groupName;
@@ -923,6 +1209,10 @@ public class SikulixServer {
     public Date startDate;
     public Date endDate;
     public int exitCode;
+    private String[] scripts;
+    private File pyFile;
+    private long changeCount = 0;
+    private List<Consumer<Task>> doneConsumers = new ArrayList<>();
 
     private Task(final String id, final String groupName, 
                  final String scriptName, final String[] scriptArgs, final boolean isAsync) {
@@ -944,17 +1234,89 @@ public class SikulixServer {
       return status == Status.RUNNING;
     }
 
+    @JsonIgnore
+    public boolean isDone() {
+      return !isWaiting() && !isRunning();
+    }
+
     public void updateStatus(Status status) {
       this.status = status;
     }
 
-    public void runScript() {
+    /**
+     * the consumer gets a copy of the task, when it has ended (at once, if it has already ended)
+     *
+     * @param consumer called in the thread, that ends the task
+     */
+    public void whenDone(Consumer<Task> consumer) {
+      synchronized (this) {
+        if (!isDone()) {
+          doneConsumers.add(consumer);
+          return;
+        }
+      }
+      consumer.accept(clone());
+    }
+
+    // called with every status change (TaskStore.changed)
+    private void changed() {
+      List<Consumer<Task>> consumers;
+      synchronized (this) {
+        if (!isDone() || doneConsumers.isEmpty()) {
+          return;
+        }
+        consumers = doneConsumers;
+        doneConsumers = new ArrayList<>();
+      }
+      Task done = clone();
+      for (Consumer<Task> consumer : consumers) {
+        consumer.accept(done);
+      }
+    }
+
+    // on the Task Executor (the work dir is global): the script file and
+    // with the interpreter pool the Python file to run in a pooled interpreter
+    // (not if no pooled interpreter could be created: then run as without the pool)
+    public void resolveScript() {
       Commons.setWorkDir(groups.get(groupName));
-      String[] scripts = Runner.resolveRelativeFiles(new String[]{scriptName});
+      scripts = Runner.resolveRelativeFiles(new String[]{scriptName});
+      pyFile = null;
+      if (interpreterPool != null && scripts.length == 1 && interpreterPool.awaitReady()) {
+        IRunner.EffectiveRunner effective = Runner.getEffectiveRunner(scripts[0]);
+        String script = effective.getScript();
+        if (effective.getRunner() instanceof JythonRunner && script != null && script.endsWith(".py")) {
+          File file = new File(script);
+          if (file.exists()) {
+            pyFile = file;
+          }
+        }
+      }
+    }
+
+    public void runScript() {
       Commons.setUserArgs(scriptArgs);
       startDate = new Date();
-      exitCode = Runner.runScripts(scripts, scriptArgs, new IRunner.Options());
+      if (interpreterPool != null) {
+        // scripts not run by the pool might use mouse and keyboard all the time
+        Devices.desktopLock();
+      }
+      try {
+        exitCode = Runner.runScripts(scripts, scriptArgs, new IRunner.Options());
+      } finally {
+        Devices.desktopRelease();
+      }
+      endDate = new Date();
+      updateExitStatus();
+    }
+
+    public void runPooledScript() {
+      startDate = new Date();
+      exitCode = interpreterPool.runScript(pyFile, scriptArgs);
       endDate = new Date();
+      updateExitStatus();
+    }
+
+    private void updateExitStatus() {
       if (exitCode < 0 || 255 < exitCode) {
         status = Status.FAILED;
       } else {
@@ -967,6 +1329,7 @@ public class SikulixServer {
       Task clone = null;
       try {
         clone = (Task) super.clone();
+        clone.doneConsumers = new ArrayList<>();
         if (startDate != null) {
           clone.startDate = (Date) startDate.clone();
         }
@@ -998,6 +1361,18 @@ public class SikulixServer {
     }
   }
 
+  private static class ChangesResponse {
+    @SuppressWarnings("unused")
+    public long changeCount;
+    @SuppressWarnings("unused")
+    public List<Task> tasks;
+
+    public ChangesResponse(long changeCount, List<Task> tasks) {
+      this.changeCount = changeCount;
+      this.tasks = tasks;
+    }
+  }
+
   private static class ErrorResponse {
     @SuppressWarnings("unused")
     public String error;
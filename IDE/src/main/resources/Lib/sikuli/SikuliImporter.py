@@ -35,8 +35,20 @@ class SikuliImporter:
                 if file:
                     file.close()
         
+        def _load_module_cached(self, fullname):
+            try:
+                return JH.get().loadModuleCached(fullname, self.path)
+            except:
+                etype, evalue, etb = sys.exc_info()
+                evalue = etype("!!WHILE IMPORTING!! %s" % evalue)
+                raise etype, evalue, etb
+
         def load_module(self, module_name):
             module_name = JH.get().loadModulePrepare(module_name, self.path)
+            # the compiled code from the JythonCodeCache - if not possible as usual
+            module = self._load_module_cached(module_name)
+            if module is not None:
+                return module
             return self._load_module(module_name)
 
     def _find_module(self, module_name, fullpath):